@@ -82,6 +82,8 @@ public SpongeCoremod() {
         SpongeLaunch.setupMixinEnvironment()
                 .addConfiguration("mixins.forge.core.json")
                 .addConfiguration("mixins.forge.entityactivation.json")
+                .addConfiguration("mixins.forge.tileentityactivation.json")
+                .addConfiguration("mixins.forge.chunkgeneration.json")
                 .addConfiguration("mixins.forge.bungeecord.json")
                 .registerTokenProviderClass("org.spongepowered.mod.SpongeCoremod$TokenProvider");
 
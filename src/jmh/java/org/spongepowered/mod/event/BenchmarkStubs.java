@@ -0,0 +1,231 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import net.minecraftforge.fml.common.DummyModContainer;
+import net.minecraftforge.fml.common.ModContainer;
+import net.minecraftforge.fml.common.ModMetadata;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.IEventExceptionHandler;
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import net.minecraftforge.fml.common.eventhandler.ListenerList;
+import org.spongepowered.api.event.Cancellable;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.Order;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.NamedCause;
+import org.spongepowered.api.plugin.PluginContainer;
+import org.spongepowered.common.event.RegisteredListener;
+import org.spongepowered.mod.interfaces.IMixinEvent;
+import org.spongepowered.mod.interfaces.IMixinEventBus;
+import org.spongepowered.mod.interfaces.IMixinLoadController;
+
+import java.util.Optional;
+
+/**
+ * Stubs shared by the event dispatch benchmarks.
+ *
+ * <p>Benchmarks run outside of a Minecraft launch, so no mixins are applied.
+ * They drive the real dispatch loops of {@link SpongeModEventManager} and
+ * {@link SpongeForgeEventFactory} with these stubs in place of plugins,
+ * mods, events and the event bus.</p>
+ */
+final class BenchmarkStubs {
+
+    // The only bus created in a benchmark fork
+    static final int BUS_ID = 0;
+
+    // Rethrown by the dispatch loop after the handler saw it
+    static final IEventExceptionHandler EXCEPTION_HANDLER = (bus, event, listeners, index, throwable) -> {
+    };
+
+    static {
+        ListenerList.resize(BUS_ID + 1);
+    }
+
+    private BenchmarkStubs() {
+    }
+
+    static final class StubPlugin extends DummyModContainer implements PluginContainer {
+
+        StubPlugin(String id) {
+            super(createMetadata(id));
+        }
+
+        private static ModMetadata createMetadata(String id) {
+            ModMetadata metadata = new ModMetadata();
+            metadata.modId = id;
+            metadata.name = id;
+            metadata.version = "1.0";
+            return metadata;
+        }
+
+        @Override
+        public String getId() {
+            return getModId();
+        }
+
+        @Override
+        public Optional<Object> getInstance() {
+            return Optional.of(this);
+        }
+    }
+
+    static final class StubEvent implements Event, Cancellable, IMixinEvent {
+
+        private final Cause cause = Cause.of(NamedCause.source(new Object()));
+        private boolean cancelled;
+        int handled;
+
+        @Override
+        public Cause getCause() {
+            return this.cause;
+        }
+
+        @Override
+        public boolean isCancelled() {
+            return this.cancelled;
+        }
+
+        @Override
+        public void setCancelled(boolean cancel) {
+            this.cancelled = cancel;
+        }
+
+        @Override
+        public void syncDataToForge(Event spongeEvent) {
+        }
+
+        @Override
+        public void syncDataToSponge(net.minecraftforge.fml.common.eventhandler.Event forgeEvent) {
+        }
+
+        @Override
+        public Event createSpongeEvent() {
+            return this;
+        }
+    }
+
+    static final class StubForgeEvent extends net.minecraftforge.fml.common.eventhandler.Event implements IMixinEvent {
+
+        private final StubEvent spongeEvent = new StubEvent();
+        int handled;
+
+        @Override
+        public void syncDataToForge(Event spongeEvent) {
+        }
+
+        @Override
+        public void syncDataToSponge(net.minecraftforge.fml.common.eventhandler.Event forgeEvent) {
+        }
+
+        @Override
+        public Event createSpongeEvent() {
+            return this.spongeEvent;
+        }
+
+        @Override
+        public Cause getCause() {
+            return this.spongeEvent.getCause();
+        }
+    }
+
+    /**
+     * Stands in for the event bus mixin, which isn't applied outside of a
+     * Minecraft launch.
+     */
+    static final class StubEventBus implements IMixinEventBus {
+
+        @Override
+        public int getBusID() {
+            return BUS_ID;
+        }
+
+        @Override
+        public boolean post(net.minecraftforge.fml.common.eventhandler.Event event, boolean forgeOnly) {
+            return post(event, event.getListenerList().getListeners(BUS_ID));
+        }
+
+        @Override
+        public boolean post(net.minecraftforge.fml.common.eventhandler.Event event, IEventListener[] listeners) {
+            return SpongeModEventManager.postForge(event, listeners, null, EXCEPTION_HANDLER);
+        }
+    }
+
+    static final class StubLoadController implements IMixinLoadController {
+
+        private ModContainer activeContainer;
+        int switches;
+
+        @Override
+        public ModContainer getActiveModContainer() {
+            return this.activeContainer;
+        }
+
+        @Override
+        public void setActiveModContainer(ModContainer container) {
+            this.activeContainer = container;
+            this.switches++;
+        }
+    }
+
+    /**
+     * Creates plugin listeners spread over the given number of plugins.
+     *
+     * @param count The number of listeners
+     * @param plugins The number of plugins
+     * @param grouped Whether listeners of the same plugin are adjacent, or
+     *     plugins take turns
+     * @return The listeners
+     */
+    static RegisteredListener<?>[] createPluginListeners(int count, int plugins, boolean grouped) {
+        final StubPlugin[] containers = new StubPlugin[plugins];
+        for (int i = 0; i < plugins; i++) {
+            containers[i] = new StubPlugin("plugin" + i);
+        }
+        final int perPlugin = (count + plugins - 1) / plugins;
+        final RegisteredListener<?>[] listeners = new RegisteredListener<?>[count];
+        for (int i = 0; i < count; i++) {
+            final StubPlugin plugin = containers[grouped ? i / perPlugin : i % plugins];
+            listeners[i] = new RegisteredListener<>(plugin, StubEvent.class, Order.DEFAULT, event -> event.handled++, false);
+        }
+        return listeners;
+    }
+
+    /**
+     * Registers Forge listeners for {@link StubForgeEvent} on the benchmark
+     * bus. Every benchmark fork registers its listeners once.
+     *
+     * @param count The number of listeners
+     * @return The listener array the bus would dispatch to
+     */
+    static IEventListener[] createForgeListeners(int count) {
+        final ListenerList listenerList = new StubForgeEvent().getListenerList();
+        for (int i = 0; i < count; i++) {
+            listenerList.register(BUS_ID, EventPriority.NORMAL, event -> ((StubForgeEvent) event).handled++);
+        }
+        return listenerList.getListeners(BUS_ID);
+    }
+}
@@ -0,0 +1,122 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import net.minecraftforge.fml.common.eventhandler.ListenerList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.common.event.RegisteredListener;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+/**
+ * Measures the shape of {@link SpongeModEventManager#postBulk}: one plugin
+ * phase on either side of a Forge event per element of the bulk event.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class BulkDispatchBenchmark {
+
+    // Elements of the bulk event, such as entities spawned or blocks broken
+    @Param({"1", "100", "1000"})
+    public int elements;
+
+    @Param({"0", "10"})
+    public int forgeListeners;
+
+    @Param({"10"})
+    public int pluginListeners;
+
+    private final ForgeEventConverterRegistry<Function<org.spongepowered.api.event.Event, org.spongepowered.api.event.Event>> callers =
+            new ForgeEventConverterRegistry<>();
+    private final BenchmarkStubs.StubEventBus bus = new BenchmarkStubs.StubEventBus();
+    private final List<Object> targets = new ArrayList<>();
+    private IEventListener[] forge;
+    private RegisteredListener<?>[] before;
+    private RegisteredListener<?>[] after;
+    private BenchmarkStubs.StubLoadController loadController;
+    private BenchmarkStubs.StubEvent event;
+
+    @Setup
+    public void setup() {
+        this.forge = BenchmarkStubs.createForgeListeners(this.forgeListeners);
+        for (int i = 0; i < this.elements; i++) {
+            this.targets.add(new Object());
+        }
+        this.before = BenchmarkStubs.createPluginListeners(this.pluginListeners / 2, 5, true);
+        this.after = BenchmarkStubs.createPluginListeners(this.pluginListeners - this.before.length, 5, true);
+        this.loadController = new BenchmarkStubs.StubLoadController();
+        this.event = new BenchmarkStubs.StubEvent();
+        this.callers.registerHierarchy(BenchmarkStubs.StubForgeEvent.class, this::callForgeEvents);
+    }
+
+    private org.spongepowered.api.event.Event callForgeEvents(org.spongepowered.api.event.Event spongeEvent) {
+        // Like the bulk callers of SpongeForgeEventFactory, skip the elements entirely when nothing listens
+        if (this.forge.length > 0) {
+            SpongeForgeEventFactory.postEach(this.targets.iterator(), target -> new BenchmarkStubs.StubForgeEvent(), this.bus, this.forge,
+                    (iterator, target) -> iterator.remove());
+        }
+        return spongeEvent;
+    }
+
+    @Benchmark
+    public boolean postBulk() {
+        SpongeModEventManager.post(this.event, this.before, this.loadController);
+        final org.spongepowered.api.event.Event result = this.callers.get(BenchmarkStubs.StubForgeEvent.class).get().apply(this.event);
+        return SpongeModEventManager.post(result, this.after, this.loadController);
+    }
+
+    @Benchmark
+    public int perElementLookup() {
+        // Dispatch as it was before listener arrays were resolved once per bulk event
+        int handled = 0;
+        for (int i = 0; i < this.elements; i++) {
+            final BenchmarkStubs.StubForgeEvent forgeEvent = new BenchmarkStubs.StubForgeEvent();
+            final ListenerList listenerList = forgeEvent.getListenerList();
+            for (IEventListener listener : listenerList.getListeners(BenchmarkStubs.BUS_ID)) {
+                listener.invoke(forgeEvent);
+            }
+            handled += forgeEvent.handled;
+        }
+        return handled;
+    }
+}
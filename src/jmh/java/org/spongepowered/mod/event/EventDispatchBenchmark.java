@@ -0,0 +1,98 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.common.event.RegisteredListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures posting a single event to plugin listeners, Forge listeners and
+ * both, through the dispatch loops of {@link SpongeModEventManager} which
+ * the event manager and the event bus mixin post with.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventDispatchBenchmark {
+
+    @Param({"0", "10", "200"})
+    public int pluginListeners;
+
+    @Param({"0", "10", "50"})
+    public int forgeListeners;
+
+    // Listeners of 40 plugins, as on a large server
+    @Param({"40"})
+    public int plugins;
+
+    private RegisteredListener<?>[] before;
+    private RegisteredListener<?>[] after;
+    private IEventListener[] forge;
+    private BenchmarkStubs.StubLoadController loadController;
+    private BenchmarkStubs.StubEvent event;
+    private BenchmarkStubs.StubForgeEvent forgeEvent;
+
+    @Setup
+    public void setup() {
+        this.before = BenchmarkStubs.createPluginListeners(this.pluginListeners / 2, this.plugins, true);
+        this.after = BenchmarkStubs.createPluginListeners(this.pluginListeners - this.before.length, this.plugins, true);
+        this.forge = BenchmarkStubs.createForgeListeners(this.forgeListeners);
+        this.loadController = new BenchmarkStubs.StubLoadController();
+        this.event = new BenchmarkStubs.StubEvent();
+        this.forgeEvent = new BenchmarkStubs.StubForgeEvent();
+    }
+
+    @Benchmark
+    public boolean spongeOnly() {
+        SpongeModEventManager.post(this.event, this.before, this.loadController);
+        return SpongeModEventManager.post(this.event, this.after, this.loadController);
+    }
+
+    @Benchmark
+    public boolean forgeOnly() {
+        return SpongeModEventManager.postForge(this.forgeEvent, this.forge, null, BenchmarkStubs.EXCEPTION_HANDLER);
+    }
+
+    @Benchmark
+    public boolean mixed() {
+        return SpongeModEventManager.post(this.event, this.forgeEvent, this.forge, this.before, this.after, this.loadController);
+    }
+}
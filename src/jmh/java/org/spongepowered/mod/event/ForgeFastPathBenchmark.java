@@ -0,0 +1,182 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import net.minecraft.util.BlockPos;
+import net.minecraft.util.EnumFacing;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.event.world.BlockEvent;
+import net.minecraftforge.event.world.ChunkEvent;
+import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import net.minecraftforge.fml.common.eventhandler.ListenerList;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.cause.Cause;
+import org.spongepowered.api.event.cause.NamedCause;
+import org.spongepowered.common.event.RegisteredListener;
+import org.spongepowered.mod.interfaces.IMixinEvent;
+
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures posting chunk load and neighbor notify events fired by Forge when
+ * no plugin listens for them, through the fast path which only invokes the
+ * Forge listeners and through the full path with both plugin phases and the
+ * data sync in between.
+ *
+ * <p>The events stand in for the mixins which bridge them to sponge events,
+ * syncing the same data without looking up blocks in a world.</p>
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ForgeFastPathBenchmark {
+
+    private static final RegisteredListener<?>[] NO_LISTENERS = new RegisteredListener<?>[0];
+
+    @Param({"chunk-load", "neighbor-notify"})
+    public String event;
+
+    @Param({"0", "10"})
+    public int forgeListeners;
+
+    private net.minecraftforge.fml.common.eventhandler.Event forgeEvent;
+    private Event spongeEvent;
+    private IEventListener[] forge;
+    private BenchmarkStubs.StubLoadController loadController;
+    int handled;
+
+    @Setup
+    public void setup() {
+        if (this.event.equals("chunk-load")) {
+            final StubChunkLoadEvent chunkLoadEvent = new StubChunkLoadEvent(new Chunk(null, 0, 0));
+            this.forgeEvent = chunkLoadEvent;
+            this.spongeEvent = chunkLoadEvent;
+        } else {
+            final StubNeighborNotifyEvent neighborNotifyEvent = new StubNeighborNotifyEvent(BlockPos.ORIGIN, EnumSet.allOf(EnumFacing.class));
+            this.forgeEvent = neighborNotifyEvent;
+            this.spongeEvent = neighborNotifyEvent;
+        }
+        final ListenerList listenerList = this.forgeEvent.getListenerList();
+        for (int i = 0; i < this.forgeListeners; i++) {
+            listenerList.register(BenchmarkStubs.BUS_ID, EventPriority.NORMAL, event -> this.handled++);
+        }
+        this.forge = listenerList.getListeners(BenchmarkStubs.BUS_ID);
+        this.loadController = new BenchmarkStubs.StubLoadController();
+    }
+
+    @Benchmark
+    public boolean fastPath() {
+        return SpongeModEventManager.postForgeFired(this.spongeEvent, this.forgeEvent, this.forge, NO_LISTENERS, NO_LISTENERS, NO_LISTENERS,
+                this.loadController);
+    }
+
+    @Benchmark
+    public boolean fullPath() {
+        // The path every Forge fired event took before plugin listeners were checked up front
+        return SpongeModEventManager.post(this.spongeEvent, this.forgeEvent, this.forge, NO_LISTENERS, NO_LISTENERS, this.loadController);
+    }
+
+    static final class StubChunkLoadEvent extends ChunkEvent.Load implements Event, IMixinEvent {
+
+        private final Cause cause = Cause.of(NamedCause.source(this));
+
+        StubChunkLoadEvent(Chunk chunk) {
+            super(chunk);
+        }
+
+        @Override
+        public void syncDataToForge(Event spongeEvent) {
+        }
+
+        @Override
+        public void syncDataToSponge(net.minecraftforge.fml.common.eventhandler.Event forgeEvent) {
+        }
+
+        @Override
+        public Event createSpongeEvent() {
+            return this;
+        }
+
+        @Override
+        public Cause getCause() {
+            return this.cause;
+        }
+    }
+
+    static final class StubNeighborNotifyEvent extends BlockEvent.NeighborNotifyEvent implements Event, IMixinEvent {
+
+        private final Cause cause = Cause.of(NamedCause.source(this));
+        private final Map<EnumFacing, BlockPos> neighbors = new EnumMap<>(EnumFacing.class);
+        private EnumSet<EnumFacing> syncedSides;
+
+        StubNeighborNotifyEvent(BlockPos pos, EnumSet<EnumFacing> notifiedSides) {
+            super((World) null, pos, null, notifiedSides);
+        }
+
+        @Override
+        public void syncDataToForge(Event spongeEvent) {
+            // Like the mixin, look up the neighbors and rebuild the notified sides from them
+            this.neighbors.clear();
+            for (EnumFacing side : getNotifiedSides()) {
+                this.neighbors.put(side, this.pos.offset(side));
+            }
+            this.syncedSides = EnumSet.noneOf(EnumFacing.class);
+            this.syncedSides.addAll(this.neighbors.keySet());
+        }
+
+        @Override
+        public void syncDataToSponge(net.minecraftforge.fml.common.eventhandler.Event forgeEvent) {
+        }
+
+        @Override
+        public Event createSpongeEvent() {
+            return this;
+        }
+
+        @Override
+        public Cause getCause() {
+            return this.cause;
+        }
+    }
+}
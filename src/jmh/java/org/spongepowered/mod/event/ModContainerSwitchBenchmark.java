@@ -0,0 +1,79 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.spongepowered.common.event.RegisteredListener;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures how the layout of plugin listeners affects switching the active
+ * mod container, with 200 listeners spread across 40 plugins by default.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ModContainerSwitchBenchmark {
+
+    @Param({"200"})
+    public int listeners;
+
+    @Param({"1", "40"})
+    public int plugins;
+
+    // Grouped listeners only switch containers between plugins, interleaved ones on every listener
+    @Param({"true", "false"})
+    public boolean grouped;
+
+    private RegisteredListener<?>[] pluginListeners;
+    private BenchmarkStubs.StubLoadController loadController;
+    private BenchmarkStubs.StubEvent event;
+
+    @Setup
+    public void setup() {
+        this.pluginListeners = BenchmarkStubs.createPluginListeners(this.listeners, this.plugins, this.grouped);
+        this.loadController = new BenchmarkStubs.StubLoadController();
+        this.event = new BenchmarkStubs.StubEvent();
+    }
+
+    @Benchmark
+    public boolean post() {
+        return SpongeModEventManager.post(this.event, this.pluginListeners, this.loadController);
+    }
+}
@@ -88,9 +88,14 @@
 import org.spongepowered.common.service.sql.SqlServiceImpl;
 import org.spongepowered.common.util.SpongeHooks;
 import org.spongepowered.common.world.storage.SpongePlayerDataHandler;
+import org.spongepowered.mod.command.SpongeForgeCommand;
+import org.spongepowered.mod.event.EventTimings;
 import org.spongepowered.mod.event.SpongeEventHooks;
 import org.spongepowered.mod.event.SpongeModEventManager;
 import org.spongepowered.mod.guice.SpongeGuiceModule;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationConfigQueue;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationPolicy;
+import org.spongepowered.mod.mixin.plugin.tileentityactivation.TileEntityActivationPolicy;
 import org.spongepowered.mod.network.SpongeModMessageHandler;
 import org.spongepowered.mod.plugin.SpongeModPluginContainer;
 import org.spongepowered.mod.registry.SpongeForgeModuleRegistry;
@@ -192,6 +197,15 @@ public void onPreInit(FMLPreInitializationEvent event) {
             registerService(ChunkTicketManager.class, new SpongeChunkTicketManager());
             SpongeBootstrap.initializeServices();
             SpongeBootstrap.initializeCommands();
+            if (SpongeImpl.getGlobalConfig().getConfig().getModules().usePluginEntityActivation()
+                    && ActivationPolicy.writeDefaultSettings(SpongeImpl.getGlobalConfig())) {
+                SpongeImpl.getGlobalConfig().save();
+            }
+            EventTimings.reload();
+            if (TileEntityActivationPolicy.writeDefaultSettings(SpongeImpl.getGlobalConfig())) {
+                SpongeImpl.getGlobalConfig().save();
+            }
+            this.game.getCommandManager().register(this, SpongeForgeCommand.create(), "spongeforge");
             SpongeImpl.getRegistry().preInit();
             SpongeModMessageHandler.init();
 
@@ -283,6 +297,8 @@ public void onServerStopped(FMLServerStoppedEvent event) throws IOException {
                 }
             }
             ((SqlServiceImpl) this.game.getServiceManager().provideUnchecked(SqlService.class)).close();
+            ActivationConfigQueue.flush();
+            ((SpongeModEventManager) this.game.getEventManager()).cancelPendingAsyncPosts();
         } catch (Throwable t) {
             this.controller.errorOccurred(this, t);
         }
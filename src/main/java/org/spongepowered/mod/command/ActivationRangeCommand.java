@@ -0,0 +1,148 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.command;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.stream.JsonWriter;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.command.spec.CommandExecutor;
+import org.spongepowered.api.command.spec.CommandSpec;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.mod.interfaces.IMixinWorldActivation;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationContext;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationMetrics;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationPolicy;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ImmunityRule;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+
+/**
+ * Reports what entity activation range saves in every loaded world, either as
+ * a summary or as a JSON dump broken down per entity type.
+ */
+public class ActivationRangeCommand implements CommandExecutor {
+
+    public static CommandSpec create() {
+        return CommandSpec.builder()
+                .description(Text.of("Shows entity activation range metrics"))
+                .permission("sponge.command.activationrange")
+                .arguments(GenericArguments.optional(GenericArguments.choices(Text.of("action"),
+                        ImmutableMap.<String, String>of("dump", "dump", "reset", "reset"))))
+                .executor(new ActivationRangeCommand())
+                .build();
+    }
+
+    @Override
+    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+        final String action = args.<String>getOne("action").orElse("summary");
+        if (action.equals("reset")) {
+            for (WorldServer world : DimensionManager.getWorlds()) {
+                ((IMixinWorldActivation) world).getActivationContext().resetMetrics();
+            }
+            src.sendMessage(Text.of("Entity activation metrics have been reset."));
+        } else if (action.equals("dump")) {
+            final File file;
+            try {
+                file = SpongeForgeCommand.createDumpFile("activation-range");
+                dump(file);
+            } catch (IOException e) {
+                throw new CommandException(Text.of("Could not write entity activation metrics"), e);
+            }
+            src.sendMessage(Text.of("Entity activation metrics written to " + file.getAbsolutePath()));
+        } else {
+            for (WorldServer world : DimensionManager.getWorlds()) {
+                ActivationMetrics metrics = ((IMixinWorldActivation) world).getActivationContext().getMetrics();
+                src.sendMessage(Text.of(world.getWorldInfo().getWorldName(), " (DIM", world.provider.getDimensionId(), "): ",
+                        metrics.getTotal(ActivationMetrics.Counter.ACTIVE_TICKS), " active, ",
+                        metrics.getTotal(ActivationMetrics.Counter.INACTIVE_TICKS), " inactive, ",
+                        metrics.getTotal(ActivationMetrics.Counter.IMMUNITY_WAKEUPS), " immunity wake-ups, ",
+                        metrics.getTotal(ActivationMetrics.Counter.UNLOADED_SKIPS), " unloaded skips"));
+            }
+        }
+        return CommandResult.success();
+    }
+
+    private static void dump(File file) throws IOException {
+        try (JsonWriter writer = new JsonWriter(new FileWriter(file))) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("worlds").beginArray();
+            for (WorldServer world : DimensionManager.getWorlds()) {
+                ActivationContext context = ((IMixinWorldActivation) world).getActivationContext();
+                ActivationMetrics metrics = context.getMetrics();
+                writer.beginObject();
+                writer.name("name").value(world.getWorldInfo().getWorldName());
+                writer.name("dimension").value(world.provider.getDimensionId());
+                writer.name("range-scale").value(context.getRangeScale());
+
+                writer.name("effective-ranges").beginObject();
+                for (byte type = ActivationPolicy.MONSTER; type <= ActivationPolicy.MISC; type++) {
+                    writer.name(ActivationPolicy.getActivationTypeName(type)).value(context.getEffectiveActivationRange(type));
+                }
+                writer.endObject();
+
+                writer.name("totals").beginObject();
+                for (ActivationMetrics.Counter counter : ActivationMetrics.Counter.values()) {
+                    writer.name(counter.getId()).value(metrics.getTotal(counter));
+                }
+                writer.endObject();
+
+                writer.name("immunities").beginObject();
+                for (ImmunityRule rule : ImmunityRule.values()) {
+                    writer.name(rule.getId()).value(context.getImmunityHits(rule));
+                }
+                writer.endObject();
+
+                writer.name("types").beginObject();
+                for (int typeIndex = -1; typeIndex < metrics.getTypeCount(); typeIndex++) {
+                    if (metrics.get(ActivationMetrics.Counter.ACTIVE_TICKS, typeIndex) == 0
+                            && metrics.get(ActivationMetrics.Counter.INACTIVE_TICKS, typeIndex) == 0) {
+                        continue;
+                    }
+                    SpongeEntityType type = ActivationPolicy.getType(typeIndex);
+                    writer.name(type == null ? "unknown" : type.getId()).beginObject();
+                    for (ActivationMetrics.Counter counter : ActivationMetrics.Counter.values()) {
+                        writer.name(counter.getId()).value(metrics.get(counter, typeIndex));
+                    }
+                    writer.endObject();
+                }
+                writer.endObject();
+
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+    }
+}
@@ -0,0 +1,73 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.command;
+
+import com.google.common.collect.ImmutableMap;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.command.spec.CommandExecutor;
+import org.spongepowered.api.command.spec.CommandSpec;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.mod.world.gen.ChunkGenerationPipeline;
+
+/**
+ * Reports the throughput of the off-thread chunk generation pipeline.
+ */
+public class ChunkGenerationCommand implements CommandExecutor {
+
+    public static CommandSpec create() {
+        return CommandSpec.builder()
+                .description(Text.of("Shows chunk generation metrics"))
+                .permission("sponge.command.chunkgeneration")
+                .arguments(GenericArguments.optional(GenericArguments.choices(Text.of("action"),
+                        ImmutableMap.<String, String>of("reset", "reset"))))
+                .executor(new ChunkGenerationCommand())
+                .build();
+    }
+
+    @Override
+    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+        if (args.hasAny("action")) {
+            ChunkGenerationPipeline.resetCounts();
+            src.sendMessage(Text.of("Chunk generation metrics have been reset."));
+            return CommandResult.success();
+        }
+
+        src.sendMessage(Text.of(String.format("Generating %.1f chunks/s, %d queued", ChunkGenerationPipeline.getThroughput(),
+                ChunkGenerationPipeline.getQueuedCount())));
+        src.sendMessage(Text.of("  ", ChunkGenerationPipeline.getGeneratedOffThread(), " generated off-thread, ",
+                ChunkGenerationPipeline.getGeneratedOnMainThread(), " on the main thread"));
+        src.sendMessage(Text.of("  ", ChunkGenerationPipeline.getRejected(), " prefetches rejected, ",
+                ChunkGenerationPipeline.getWasted(), " prefetched chunks never used"));
+        for (ChunkGenerationPipeline pipeline : ChunkGenerationPipeline.getPipelines()) {
+            src.sendMessage(Text.of("  ", pipeline.getWorldName(), ": ", pipeline.getPendingCount(), " in flight, ",
+                    pipeline.getGateMisses(), " gate misses"));
+        }
+        return CommandResult.success();
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.command;
+
+import com.google.common.collect.ImmutableMap;
+import com.google.gson.stream.JsonWriter;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.command.spec.CommandExecutor;
+import org.spongepowered.api.command.spec.CommandSpec;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.mod.event.EventTimings;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Reports the sampled listener timings collected by {@link EventTimings},
+ * either as a summary of the slowest listeners or as a JSON dump with the
+ * full histograms.
+ */
+public class EventTimingsCommand implements CommandExecutor {
+
+    private static final int SUMMARY_SIZE = 10;
+
+    public static CommandSpec create() {
+        return CommandSpec.builder()
+                .description(Text.of("Shows sampled event listener timings"))
+                .permission("sponge.command.eventtimings")
+                .arguments(GenericArguments.optional(GenericArguments.choices(Text.of("action"),
+                        ImmutableMap.<String, String>builder()
+                                .put("on", "on")
+                                .put("off", "off")
+                                .put("reload", "reload")
+                                .put("reset", "reset")
+                                .put("dump", "dump")
+                                .build())))
+                .executor(new EventTimingsCommand())
+                .build();
+    }
+
+    @Override
+    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+        final String action = args.<String>getOne("action").orElse("summary");
+        if (action.equals("on") || action.equals("off")) {
+            EventTimings.setEnabled(action.equals("on"));
+            src.sendMessage(Text.of("Event timings are now " + (EventTimings.isEnabled() ? "enabled." : "disabled.")));
+        } else if (action.equals("reload")) {
+            EventTimings.reload();
+            src.sendMessage(Text.of("Event timing settings have been reloaded."));
+        } else if (action.equals("reset")) {
+            EventTimings.reset();
+            src.sendMessage(Text.of("Event timings have been reset."));
+        } else if (action.equals("dump")) {
+            final File file;
+            try {
+                file = SpongeForgeCommand.createDumpFile("event-timings");
+                dump(file);
+            } catch (IOException e) {
+                throw new CommandException(Text.of("Could not write event timings"), e);
+            }
+            src.sendMessage(Text.of("Event timings written to " + file.getAbsolutePath()));
+        } else {
+            List<EventTimings.ListenerTiming> timings = new ArrayList<>(EventTimings.getTimings());
+            timings.sort(Comparator.comparingLong(EventTimings.ListenerTiming::getTotalNanos).reversed());
+            src.sendMessage(Text.of("Slowest sampled listeners of the last ", EventTimings.WINDOWS, " minutes",
+                    EventTimings.isEnabled() ? ":" : " (sampling is disabled):"));
+            for (EventTimings.ListenerTiming timing : timings.subList(0, Math.min(SUMMARY_SIZE, timings.size()))) {
+                final long samples = timing.getSampleCount();
+                if (samples == 0) {
+                    continue;
+                }
+                src.sendMessage(Text.of(timing.getOwner(), " - ", timing.getEventClass().getSimpleName(), ": ", samples, " samples, ",
+                        TimeUnit.NANOSECONDS.toMicros(timing.getTotalNanos() / samples), " us avg, ",
+                        TimeUnit.NANOSECONDS.toMicros(timing.getMaxNanos()), " us max"));
+            }
+        }
+        return CommandResult.success();
+    }
+
+    private static void dump(File file) throws IOException {
+        try (JsonWriter writer = new JsonWriter(new FileWriter(file))) {
+            writer.setIndent("  ");
+            writer.beginObject();
+            writer.name("window-millis").value(EventTimings.WINDOW_MILLIS);
+            writer.name("windows").value(EventTimings.WINDOWS);
+            writer.name("listeners").beginArray();
+            for (EventTimings.ListenerTiming timing : EventTimings.getTimings()) {
+                writer.beginObject();
+                writer.name("owner").value(timing.getOwner());
+                writer.name("event").value(timing.getEventClass().getName());
+                writer.name("samples").value(timing.getSampleCount());
+                writer.name("total-nanos").value(timing.getTotalNanos());
+                writer.name("max-nanos").value(timing.getMaxNanos());
+                // Bucket i counts samples which took between 2^i and 2^(i + 1) microseconds
+                writer.name("histogram").beginArray();
+                for (long count : timing.getHistogram()) {
+                    writer.value(count);
+                }
+                writer.endArray();
+                writer.endObject();
+            }
+            writer.endArray();
+            writer.endObject();
+        }
+    }
+}
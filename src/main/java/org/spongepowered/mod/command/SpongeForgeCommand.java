@@ -0,0 +1,82 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.command;
+
+import org.spongepowered.api.command.spec.CommandSpec;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.mod.mixin.plugin.tileentityactivation.TileEntityActivationPolicy;
+import org.spongepowered.mod.world.gen.ChunkGenerationPipeline;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.SimpleDateFormat;
+import java.util.Date;
+
+/**
+ * The {@code /spongeforge} command, which groups the diagnostics of the
+ * optional SpongeForge modules. Subcommands of modules that are disabled
+ * are left out.
+ */
+public final class SpongeForgeCommand {
+
+    // Where the server writes its logs, see log4j2.xml
+    private static final Path DUMP_DIRECTORY = Paths.get("logs");
+
+    private SpongeForgeCommand() {
+    }
+
+    public static CommandSpec create() {
+        CommandSpec.Builder builder = CommandSpec.builder()
+                .description(Text.of("SpongeForge diagnostics"))
+                .child(EventTimingsCommand.create(), "eventtimings");
+        if (SpongeImpl.getGlobalConfig().getConfig().getModules().usePluginEntityActivation()) {
+            builder.child(ActivationRangeCommand.create(), "activationrange");
+        }
+        if (TileEntityActivationPolicy.isModuleEnabled()) {
+            builder.child(TileEntityActivationCommand.create(), "tileentityactivation");
+        }
+        if (ChunkGenerationPipeline.isEnabled()) {
+            builder.child(ChunkGenerationCommand.create(), "chunkgeneration");
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates the file a subcommand writes a dump to, named after the dump
+     * and the current time.
+     *
+     * @param name The name of the dump
+     * @return The file to write the dump to
+     * @throws IOException If the dump directory could not be created
+     */
+    static File createDumpFile(String name) throws IOException {
+        Files.createDirectories(DUMP_DIRECTORY);
+        return DUMP_DIRECTORY.resolve(name + "-" + new SimpleDateFormat("yyyyMMdd-HHmmss").format(new Date()) + ".json").toFile();
+    }
+}
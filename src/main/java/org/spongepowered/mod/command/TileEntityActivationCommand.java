@@ -0,0 +1,85 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.command;
+
+import com.google.common.collect.ImmutableMap;
+import net.minecraft.world.WorldServer;
+import net.minecraftforge.common.DimensionManager;
+import org.spongepowered.api.command.CommandException;
+import org.spongepowered.api.command.CommandResult;
+import org.spongepowered.api.command.CommandSource;
+import org.spongepowered.api.command.args.CommandContext;
+import org.spongepowered.api.command.args.GenericArguments;
+import org.spongepowered.api.command.spec.CommandExecutor;
+import org.spongepowered.api.command.spec.CommandSpec;
+import org.spongepowered.api.text.Text;
+import org.spongepowered.mod.interfaces.IMixinWorldTileEntityActivation;
+import org.spongepowered.mod.mixin.plugin.tileentityactivation.TileEntityActivationContext;
+import org.spongepowered.mod.mixin.plugin.tileentityactivation.TileEntityActivationPolicy;
+
+/**
+ * Reports how many tile entity updates were skipped in every loaded world,
+ * broken down per tile entity type.
+ */
+public class TileEntityActivationCommand implements CommandExecutor {
+
+    public static CommandSpec create() {
+        return CommandSpec.builder()
+                .description(Text.of("Shows tile entity activation metrics"))
+                .permission("sponge.command.tileentityactivation")
+                .arguments(GenericArguments.optional(GenericArguments.choices(Text.of("action"),
+                        ImmutableMap.<String, String>of("reset", "reset"))))
+                .executor(new TileEntityActivationCommand())
+                .build();
+    }
+
+    @Override
+    public CommandResult execute(CommandSource src, CommandContext args) throws CommandException {
+        if (args.hasAny("action")) {
+            for (WorldServer world : DimensionManager.getWorlds()) {
+                ((IMixinWorldTileEntityActivation) world).getTileEntityActivationContext().resetCounts();
+            }
+            src.sendMessage(Text.of("Tile entity activation metrics have been reset."));
+            return CommandResult.success();
+        }
+
+        final int typeCount = TileEntityActivationPolicy.getRegisteredTypeCount();
+        for (WorldServer world : DimensionManager.getWorlds()) {
+            TileEntityActivationContext context = ((IMixinWorldTileEntityActivation) world).getTileEntityActivationContext();
+            src.sendMessage(Text.of(world.getWorldInfo().getWorldName(), " (DIM", world.provider.getDimensionId(), "):"));
+            for (int typeIndex = 0; typeIndex < typeCount; typeIndex++) {
+                final long ticks = context.getCount(TileEntityActivationContext.TICKS, typeIndex);
+                final long rangeSkips = context.getCount(TileEntityActivationContext.RANGE_SKIPS, typeIndex);
+                final long intervalSkips = context.getCount(TileEntityActivationContext.INTERVAL_SKIPS, typeIndex);
+                if (ticks == 0 && rangeSkips == 0 && intervalSkips == 0) {
+                    continue;
+                }
+                src.sendMessage(Text.of("  ", TileEntityActivationPolicy.getTypeId(typeIndex), ": ", ticks, " ticked, ",
+                        rangeSkips, " out of range, ", intervalSkips, " skipped by interval"));
+            }
+        }
+        return CommandResult.success();
+    }
+}
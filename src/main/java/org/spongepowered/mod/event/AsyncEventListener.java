@@ -0,0 +1,50 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import org.spongepowered.api.event.Event;
+import org.spongepowered.api.event.EventListener;
+
+/**
+ * An {@link EventListener} which may be called off the server thread.
+ *
+ * <p>When an event is posted through
+ * {@link SpongeModEventManager#postAsync(Event)}, listeners implementing this
+ * interface are called on an async thread before all other listeners, which
+ * run on the server thread afterwards. Async listeners may cancel the event,
+ * but must not access the world. When the event is posted normally, they are
+ * called like any other listener.</p>
+ *
+ * <p>Only listeners registered directly through
+ * {@link org.spongepowered.api.event.EventManager#registerListener} can be
+ * async. Methods annotated with {@link org.spongepowered.api.event.Listener}
+ * are always called on the server thread, as the handler registered for them
+ * is a generated invoker which doesn't implement this interface.</p>
+ *
+ * @param <T> The type of the event
+ */
+public interface AsyncEventListener<T extends Event> extends EventListener<T> {
+
+}
@@ -0,0 +1,256 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import com.google.common.collect.ImmutableList;
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.api.event.Event;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.event.RegisteredListener;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Samples how long plugin and Forge listeners take to handle events, and
+ * warns about listeners which exceed the configured threshold.
+ *
+ * <p>Timings are kept per listener owner and event class in a histogram
+ * covering the last {@link #WINDOWS} windows of {@link #WINDOW_MILLIS}.
+ * Sampling is configured under "event-timings" in the global config.</p>
+ */
+public final class EventTimings {
+
+    public static final long WINDOW_MILLIS = TimeUnit.MINUTES.toMillis(1);
+    public static final int WINDOWS = 5;
+    // Bucket i holds durations in [2^i, 2^(i + 1)) microseconds
+    public static final int BUCKETS = 24;
+
+    private static final long WARN_INTERVAL_MILLIS = TimeUnit.MINUTES.toMillis(1);
+
+    private static final Map<String, Map<Class<?>, ListenerTiming>> timings = new ConcurrentHashMap<>();
+
+    private static volatile boolean enabled;
+    private static volatile int sampleRate = 100;
+    private static volatile long slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(50);
+    private static int sampleCounter;
+
+    private EventTimings() {
+    }
+
+    /**
+     * Reads the timing settings from the global config.
+     */
+    public static void reload() {
+        ConfigurationNode node = SpongeImpl.getGlobalConfig().getRootNode().getNode("event-timings");
+        sampleRate = Math.max(1, node.getNode("sample-rate").getInt(100));
+        slowThresholdNanos = TimeUnit.MILLISECONDS.toNanos(Math.max(0, node.getNode("slow-listener-threshold").getLong(50)));
+        enabled = node.getNode("enabled").getBoolean(false);
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean enabled) {
+        EventTimings.enabled = enabled;
+    }
+
+    /**
+     * Handles an event with a plugin listener, timing one in every
+     * sample-rate invocations.
+     *
+     * @param listener The listener
+     * @param event The event
+     * @throws Exception If the listener fails to handle the event
+     */
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public static void handle(RegisteredListener listener, Event event) throws Exception {
+        if (!enabled || !sample()) {
+            listener.handle(event);
+            return;
+        }
+        final long start = System.nanoTime();
+        listener.handle(event);
+        record(listener.getPlugin().getId(), event.getClass(), System.nanoTime() - start);
+    }
+
+    /**
+     * Invokes a Forge listener, timing one in every sample-rate invocations.
+     *
+     * @param listener The listener
+     * @param event The event
+     */
+    public static void invoke(IEventListener listener, net.minecraftforge.fml.common.eventhandler.Event event) {
+        if (!enabled || !sample()) {
+            listener.invoke(event);
+            return;
+        }
+        final long start = System.nanoTime();
+        listener.invoke(event);
+        record(listener.toString(), event.getClass(), System.nanoTime() - start);
+    }
+
+    private static boolean sample() {
+        // Races between threads only skew which invocation is sampled
+        if (++sampleCounter < sampleRate) {
+            return false;
+        }
+        sampleCounter = 0;
+        return true;
+    }
+
+    private static void record(String owner, Class<?> eventClass, long durationNanos) {
+        final ListenerTiming timing = timings.computeIfAbsent(owner, key -> new ConcurrentHashMap<>())
+                .computeIfAbsent(eventClass, key -> new ListenerTiming(owner, key));
+        final long now = System.currentTimeMillis();
+        timing.record(now, durationNanos);
+        if (durationNanos > slowThresholdNanos && timing.shouldWarn(now)) {
+            SpongeImpl.getLogger().warn("Listener {} took {} ms to handle {}", owner,
+                    TimeUnit.NANOSECONDS.toMillis(durationNanos), eventClass.getName());
+        }
+    }
+
+    /**
+     * Gets a copy of the timings of all listeners sampled so far.
+     *
+     * @return The listener timings
+     */
+    public static List<ListenerTiming> getTimings() {
+        final List<ListenerTiming> snapshot = new ArrayList<>();
+        for (Map<Class<?>, ListenerTiming> ownerTimings : timings.values()) {
+            snapshot.addAll(ownerTimings.values());
+        }
+        return ImmutableList.copyOf(snapshot);
+    }
+
+    public static void reset() {
+        timings.clear();
+    }
+
+    /**
+     * The sampled durations of the listeners of one owner for one event
+     * class.
+     */
+    public static final class ListenerTiming {
+
+        private final String owner;
+        private final Class<?> eventClass;
+        private final long[][] buckets = new long[WINDOWS][BUCKETS];
+        private final long[] totalNanos = new long[WINDOWS];
+        private final long[] maxNanos = new long[WINDOWS];
+        private long currentWindow;
+        private long lastWarning;
+
+        ListenerTiming(String owner, Class<?> eventClass) {
+            this.owner = owner;
+            this.eventClass = eventClass;
+        }
+
+        public String getOwner() {
+            return this.owner;
+        }
+
+        public Class<?> getEventClass() {
+            return this.eventClass;
+        }
+
+        synchronized void record(long now, long durationNanos) {
+            final int window = rotate(now);
+            final int bucket = Math.min(BUCKETS - 1, 63 - Long.numberOfLeadingZeros(Math.max(1, durationNanos / 1000)));
+            this.buckets[window][bucket]++;
+            this.totalNanos[window] += durationNanos;
+            this.maxNanos[window] = Math.max(this.maxNanos[window], durationNanos);
+        }
+
+        synchronized boolean shouldWarn(long now) {
+            if (now - this.lastWarning < WARN_INTERVAL_MILLIS) {
+                return false;
+            }
+            this.lastWarning = now;
+            return true;
+        }
+
+        private int rotate(long now) {
+            final long window = now / WINDOW_MILLIS;
+            // Clear the windows which were skipped since the last sample
+            for (long expired = Math.max(this.currentWindow + 1, window - WINDOWS + 1); expired <= window; expired++) {
+                final int index = (int) (expired % WINDOWS);
+                Arrays.fill(this.buckets[index], 0);
+                this.totalNanos[index] = 0;
+                this.maxNanos[index] = 0;
+            }
+            this.currentWindow = Math.max(this.currentWindow, window);
+            return (int) (window % WINDOWS);
+        }
+
+        /**
+         * Gets the histogram of the sampled durations over all windows.
+         *
+         * @return The sample count of every bucket
+         */
+        public synchronized long[] getHistogram() {
+            rotate(System.currentTimeMillis());
+            final long[] histogram = new long[BUCKETS];
+            for (long[] window : this.buckets) {
+                for (int bucket = 0; bucket < BUCKETS; bucket++) {
+                    histogram[bucket] += window[bucket];
+                }
+            }
+            return histogram;
+        }
+
+        public synchronized long getSampleCount() {
+            long count = 0;
+            for (long sampleCount : getHistogram()) {
+                count += sampleCount;
+            }
+            return count;
+        }
+
+        public synchronized long getTotalNanos() {
+            rotate(System.currentTimeMillis());
+            long total = 0;
+            for (long windowTotal : this.totalNanos) {
+                total += windowTotal;
+            }
+            return total;
+        }
+
+        public synchronized long getMaxNanos() {
+            rotate(System.currentTimeMillis());
+            long max = 0;
+            for (long windowMax : this.maxNanos) {
+                max = Math.max(max, windowMax);
+            }
+            return max;
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.event;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import net.minecraftforge.fml.common.eventhandler.Event;
+
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Maps Forge event classes to the converters that bridge sponge events to
+ * them. A converter is either registered for exactly one class, or for a
+ * class and all of its subclasses that have no converter of their own.
+ *
+ * <p>Lookups are resolved once per class and cached until the next
+ * registration, so the cost of a lookup does not depend on how many
+ * converters are registered.</p>
+ *
+ * @param <T> The type of the converters
+ */
+public final class ForgeEventConverterRegistry<T> {
+
+    private final Map<Class<?>, T> exactConverters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, T> hierarchyConverters = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Optional<T>> resolvedConverters = new ConcurrentHashMap<>();
+
+    /**
+     * Registers a converter for exactly the given Forge event class.
+     *
+     * @param eventClass The Forge event class
+     * @param converter The converter
+     */
+    public void register(Class<? extends Event> eventClass, T converter) {
+        this.exactConverters.put(checkNotNull(eventClass, "eventClass"), checkNotNull(converter, "converter"));
+        this.resolvedConverters.clear();
+    }
+
+    /**
+     * Registers a converter for the given Forge event class and all of its
+     * subclasses which don't have a more specific converter.
+     *
+     * @param eventClass The Forge event class
+     * @param converter The converter
+     */
+    public void registerHierarchy(Class<? extends Event> eventClass, T converter) {
+        this.hierarchyConverters.put(checkNotNull(eventClass, "eventClass"), checkNotNull(converter, "converter"));
+        this.resolvedConverters.clear();
+    }
+
+    /**
+     * Gets the converter for the given Forge event class.
+     *
+     * @param eventClass The Forge event class
+     * @return The converter, if one is registered
+     */
+    public Optional<T> get(Class<?> eventClass) {
+        Optional<T> converter = this.resolvedConverters.get(eventClass);
+        if (converter == null) {
+            converter = this.resolvedConverters.computeIfAbsent(eventClass, this::resolve);
+        }
+        return converter;
+    }
+
+    private Optional<T> resolve(Class<?> eventClass) {
+        final T converter = this.exactConverters.get(eventClass);
+        if (converter != null) {
+            return Optional.of(converter);
+        }
+        for (Class<?> type = eventClass; type != null; type = type.getSuperclass()) {
+            final T hierarchyConverter = this.hierarchyConverters.get(type);
+            if (hierarchyConverter != null) {
+                return Optional.of(hierarchyConverter);
+            }
+        }
+        return Optional.empty();
+    }
+}
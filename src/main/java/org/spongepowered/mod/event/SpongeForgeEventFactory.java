@@ -24,6 +24,7 @@
  */
 package org.spongepowered.mod.event;
 
+import com.google.common.collect.ImmutableList;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.enchantment.EnchantmentHelper;
 import net.minecraft.entity.Entity;
@@ -59,32 +60,21 @@
 import net.minecraftforge.event.entity.living.LivingPackSizeEvent;
 import net.minecraftforge.event.entity.living.LivingSetAttackTargetEvent;
 import net.minecraftforge.event.entity.living.LivingSpawnEvent;
-import net.minecraftforge.event.entity.player.AchievementEvent;
-import net.minecraftforge.event.entity.player.AnvilRepairEvent;
-import net.minecraftforge.event.entity.player.ArrowLooseEvent;
-import net.minecraftforge.event.entity.player.ArrowNockEvent;
 import net.minecraftforge.event.entity.player.AttackEntityEvent;
-import net.minecraftforge.event.entity.player.BonemealEvent;
 import net.minecraftforge.event.entity.player.EntityInteractEvent;
 import net.minecraftforge.event.entity.player.EntityItemPickupEvent;
-import net.minecraftforge.event.entity.player.FillBucketEvent;
-import net.minecraftforge.event.entity.player.ItemTooltipEvent;
-import net.minecraftforge.event.entity.player.PlayerDestroyItemEvent;
-import net.minecraftforge.event.entity.player.PlayerDropsEvent;
 import net.minecraftforge.event.entity.player.PlayerEvent;
-import net.minecraftforge.event.entity.player.PlayerFlyableFallEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent;
 import net.minecraftforge.event.entity.player.PlayerInteractEvent.Action;
-import net.minecraftforge.event.entity.player.PlayerOpenContainerEvent;
-import net.minecraftforge.event.entity.player.PlayerPickupXpEvent;
 import net.minecraftforge.event.entity.player.PlayerSleepInBedEvent;
 import net.minecraftforge.event.entity.player.PlayerUseItemEvent;
 import net.minecraftforge.event.world.BlockEvent;
 import net.minecraftforge.event.world.BlockEvent.NeighborNotifyEvent;
-import net.minecraftforge.event.world.ChunkDataEvent;
 import net.minecraftforge.event.world.ChunkEvent;
-import net.minecraftforge.event.world.ChunkWatchEvent;
 import net.minecraftforge.event.world.WorldEvent;
+import net.minecraftforge.fml.common.eventhandler.EventBus;
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
+import net.minecraftforge.fml.common.eventhandler.ListenerList;
 import org.spongepowered.api.block.BlockSnapshot;
 import org.spongepowered.api.block.BlockState;
 import org.spongepowered.api.block.BlockTypes;
@@ -135,187 +125,124 @@
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
 
 public class SpongeForgeEventFactory {
 
-    public static net.minecraftforge.fml.common.eventhandler.Event findAndCreateForgeEvent(Event event,
-            Class<? extends net.minecraftforge.fml.common.eventhandler.Event> clazz) {
+    private static final ForgeEventConverterRegistry<Function<Event, net.minecraftforge.fml.common.eventhandler.Event>> forgeEventFactories =
+            new ForgeEventConverterRegistry<>();
+    private static final ForgeEventConverterRegistry<Function<Event, Event>> bulkForgeEventCallers = new ForgeEventConverterRegistry<>();
+    // The listener list of a Forge event class can only be obtained from an instance of it
+    private static final Map<Class<?>, ListenerList> forgeListenerLists = new ConcurrentHashMap<>();
 
+    static {
         // Block events
-        if (BlockEvent.class.isAssignableFrom(clazz)) {
-            if (clazz == BlockEvent.NeighborNotifyEvent.class) {
-                return createBlockNeighborNotifyEvent(event);
-            } else if (clazz == BlockEvent.HarvestDropsEvent.class) {
-                // return createBlockHarvestEvent(event);
-            } else if (clazz == BlockEvent.MultiPlaceEvent.class ||
-                    clazz == BlockEvent.PlaceEvent.class) {
-                return createBlockPlaceEvent(event);
-            } else {
-                return createBlockEvent(event);
-            }
-        }
+        forgeEventFactories.registerHierarchy(BlockEvent.class, SpongeForgeEventFactory::createBlockEvent);
+        forgeEventFactories.register(BlockEvent.NeighborNotifyEvent.class, SpongeForgeEventFactory::createBlockNeighborNotifyEvent);
+        forgeEventFactories.register(BlockEvent.PlaceEvent.class, SpongeForgeEventFactory::createBlockPlaceEvent);
+        forgeEventFactories.register(BlockEvent.MultiPlaceEvent.class, SpongeForgeEventFactory::createBlockPlaceEvent);
 
         // Player events
-        else if (PlayerEvent.class.isAssignableFrom(clazz)) {
-            if (clazz == AchievementEvent.class) {
-
-            } else if (clazz == AnvilRepairEvent.class) {
-
-            } else if (clazz == ArrowLooseEvent.class) {
-
-            } else if (clazz == ArrowNockEvent.class) {
-
-            } else if (clazz == AttackEntityEvent.class) {
-                return createAttackEntityEvent(event);
-            } else if (clazz == BonemealEvent.class) {
-
-            } else if (clazz == EntityInteractEvent.class) {
-                return createEntityInteractEvent(event);
-            } else if (clazz == EntityItemPickupEvent.class) {
-
-            } else if (clazz == FillBucketEvent.class) {
-
-            } else if (clazz == ItemTooltipEvent.class) {
-
-            } else if (clazz == PlayerDropsEvent.class) {
-
-            } else if (clazz == PlayerDestroyItemEvent.class) {
-
-            } else if (clazz == PlayerFlyableFallEvent.class) {
-
-            } else if (clazz == PlayerInteractEvent.class) {
-                return createPlayerInteractEvent(event);
-            } else if (clazz == PlayerOpenContainerEvent.class) {
-
-            } else if (clazz == PlayerPickupXpEvent.class) {
-
-            } else if (clazz == PlayerSleepInBedEvent.class) {
-                return createPlayerSleepInBedEvent(event);
-            } else if (clazz == PlayerUseItemEvent.Start.class) {
-                return createPlayerUseItemStartEvent(event);
-            } else if (clazz == PlayerUseItemEvent.Tick.class) {
-                return createPlayerUseItemTickEvent(event);
-            } else if (clazz == PlayerUseItemEvent.Stop.class) {
-                return createPlayerUseItemStopEvent(event);
-            } else if (clazz == PlayerUseItemEvent.Finish.class) {
-                return createPlayerUseItemFinishEvent(event);
-            } else {
-                return (net.minecraftforge.fml.common.eventhandler.Event) event;
-            }
-        }
+        forgeEventFactories.registerHierarchy(PlayerEvent.class, SpongeForgeEventFactory::castToForgeEvent);
+        forgeEventFactories.register(AttackEntityEvent.class, SpongeForgeEventFactory::createAttackEntityEvent);
+        forgeEventFactories.register(EntityInteractEvent.class, SpongeForgeEventFactory::createEntityInteractEvent);
+        forgeEventFactories.register(PlayerInteractEvent.class, SpongeForgeEventFactory::createPlayerInteractEvent);
+        forgeEventFactories.register(PlayerSleepInBedEvent.class, SpongeForgeEventFactory::createPlayerSleepInBedEvent);
+        forgeEventFactories.register(PlayerUseItemEvent.Start.class, SpongeForgeEventFactory::createPlayerUseItemStartEvent);
+        forgeEventFactories.register(PlayerUseItemEvent.Tick.class, SpongeForgeEventFactory::createPlayerUseItemTickEvent);
+        forgeEventFactories.register(PlayerUseItemEvent.Stop.class, SpongeForgeEventFactory::createPlayerUseItemStopEvent);
+        forgeEventFactories.register(PlayerUseItemEvent.Finish.class, SpongeForgeEventFactory::createPlayerUseItemFinishEvent);
 
         // Living events
-        else if (LivingEvent.class.isAssignableFrom(clazz)) {
-            if (clazz == LivingAttackEvent.class) {
+        forgeEventFactories.registerHierarchy(LivingEvent.class, SpongeForgeEventFactory::createLivingEvent);
+        forgeEventFactories.register(LivingDeathEvent.class, SpongeForgeEventFactory::createLivingDeathEvent);
+        forgeEventFactories.register(LivingDropsEvent.class, SpongeForgeEventFactory::createLivingDropsEvent);
 
-            } else if (clazz == LivingDeathEvent.class) {
-                return createLivingDeathEvent(event);
-            } else if (clazz == LivingDropsEvent.class) {
-                return createLivingDropsEvent(event);
-            } else if (clazz == LivingExperienceDropEvent.class) {
-
-            } else if (clazz == LivingFallEvent.class) {
-
-            } else if (clazz == LivingHealEvent.class) {
-
-            } else if (clazz == LivingHurtEvent.class) {
-
-            } else if (clazz == LivingPackSizeEvent.class) {
-
-            } else if (clazz == LivingSetAttackTargetEvent.class) {
-
-            } else if (clazz == LivingSpawnEvent.class) {
-
-            } else {
-                return createLivingEvent(event);
-            }
-        }
-
-        // Item events - need to come before EntityEvent filtering because of
-        // class hierarchies.
-        else if (ItemEvent.class.isAssignableFrom(clazz)) {
-            if (clazz == ItemExpireEvent.class) {
-
-            } else if (clazz == ItemTossEvent.class) {
-                return createItemTossEvent(event);
-            } else {
-                return createItemEvent(event);
-            }
-        }
+        // Item events
+        forgeEventFactories.registerHierarchy(ItemEvent.class, SpongeForgeEventFactory::createItemEvent);
+        forgeEventFactories.register(ItemTossEvent.class, SpongeForgeEventFactory::createItemTossEvent);
 
         // Entity events
-        else if (EntityEvent.class.isAssignableFrom(clazz)) {
-            if (clazz == EntityEvent.EntityConstructing.class) {
-                return createEntityConstructingEvent(event);
-            } else if (clazz == EntityMountEvent.class) {
-
-            } else if (clazz == EntityStruckByLightningEvent.class) {
-
-            } else {
-                return createEntityEvent(event);
-            }
-        }
+        forgeEventFactories.registerHierarchy(EntityEvent.class, SpongeForgeEventFactory::createEntityEvent);
+        forgeEventFactories.register(EntityEvent.EntityConstructing.class, SpongeForgeEventFactory::createEntityConstructingEvent);
 
         // World events
-        else if (WorldEvent.class.isAssignableFrom(clazz)) {
-            if (ChunkEvent.class.isAssignableFrom(clazz)) {
-                if (clazz == ChunkEvent.Load.class) {
-                    return createChunkLoadEvent(event);
-                } else if (clazz == ChunkEvent.Unload.class) {
-                    return createChunkUnloadEvent(event);
-                } else if (clazz == ChunkDataEvent.Load.class) {
-
-                } else if (clazz == ChunkDataEvent.Save.class) {
-
-                } else if (clazz == ChunkWatchEvent.UnWatch.class) {
-
-                } else if (clazz == ChunkWatchEvent.Watch.class) {
-
-                }
-                return createChunkEvent(event);
-            } else if (clazz == WorldEvent.Load.class) {
-                return createWorldLoadEvent(event);
-            } else if (clazz == WorldEvent.Unload.class) {
-                return createWorldUnloadEvent(event);
-            } else if (clazz == WorldEvent.Save.class) {
-                return createWorldSaveEvent(event);
-            } else {
-                return createWorldEvent(event);
-            }
-        }
+        forgeEventFactories.registerHierarchy(WorldEvent.class, SpongeForgeEventFactory::createWorldEvent);
+        forgeEventFactories.registerHierarchy(ChunkEvent.class, SpongeForgeEventFactory::createChunkEvent);
+        forgeEventFactories.register(ChunkEvent.Load.class, SpongeForgeEventFactory::createChunkLoadEvent);
+        forgeEventFactories.register(ChunkEvent.Unload.class, SpongeForgeEventFactory::createChunkUnloadEvent);
+        forgeEventFactories.register(WorldEvent.Load.class, SpongeForgeEventFactory::createWorldLoadEvent);
+        forgeEventFactories.register(WorldEvent.Unload.class, SpongeForgeEventFactory::createWorldUnloadEvent);
+        forgeEventFactories.register(WorldEvent.Save.class, SpongeForgeEventFactory::createWorldSaveEvent);
 
         // Explosion events
-        else if (net.minecraftforge.event.world.ExplosionEvent.class.isAssignableFrom(clazz)) {
-            if (clazz == net.minecraftforge.event.world.ExplosionEvent.Start.class) {
-                return createExplosionStartEvent(event);
-            } else if (clazz == net.minecraftforge.event.world.ExplosionEvent.Detonate.class) {
-                return createExplosionDetonateEvent(event);
-            } else {
-                return createExplosionEvent(event);
-            }
-        }
+        forgeEventFactories.registerHierarchy(net.minecraftforge.event.world.ExplosionEvent.class, SpongeForgeEventFactory::createExplosionEvent);
+        forgeEventFactories.register(net.minecraftforge.event.world.ExplosionEvent.Start.class, SpongeForgeEventFactory::createExplosionStartEvent);
+        forgeEventFactories.register(net.minecraftforge.event.world.ExplosionEvent.Detonate.class,
+                SpongeForgeEventFactory::createExplosionDetonateEvent);
 
         // Server events
-        else if (clazz == ServerChatEvent.class) {
-            return createServerChatEvent(event);
-        }
+        forgeEventFactories.register(ServerChatEvent.class, SpongeForgeEventFactory::createServerChatEvent);
+
+        // Events which aren't bridged yet, these would otherwise be picked up by the factory of their super class
+        for (Class<? extends net.minecraftforge.fml.common.eventhandler.Event> unsupported : ImmutableList
+                .<Class<? extends net.minecraftforge.fml.common.eventhandler.Event>>of(BlockEvent.HarvestDropsEvent.class, LivingAttackEvent.class, LivingExperienceDropEvent.class, LivingFallEvent.class, LivingHealEvent.class, LivingHurtEvent.class,
+                LivingPackSizeEvent.class, LivingSetAttackTargetEvent.class, LivingSpawnEvent.class, ItemExpireEvent.class,
+                EntityMountEvent.class, EntityStruckByLightningEvent.class)) {
+            forgeEventFactories.register(unsupported, SpongeForgeEventFactory::castToForgeEvent);
+        }
+
+        // Bulk events
+        bulkForgeEventCallers.registerHierarchy(EntityItemPickupEvent.class, SpongeForgeEventFactory::callEntityItemPickupEvent);
+        bulkForgeEventCallers.registerHierarchy(EntityJoinWorldEvent.class, SpongeForgeEventFactory::callEntityJoinWorldEvent);
+        bulkForgeEventCallers.registerHierarchy(BlockEvent.BreakEvent.class, SpongeForgeEventFactory::callBlockBreakEvent);
+        bulkForgeEventCallers.registerHierarchy(BlockEvent.PlaceEvent.class, SpongeForgeEventFactory::callBlockPlaceEvent);
+    }
+
+    /**
+     * Registers the factory that creates a Forge event of the given class
+     * from the sponge event it is mapped to. Sponge events which aren't
+     * mapped to the class yet are mapped with
+     * {@link SpongeModEventManager#registerEventMapping}.
+     *
+     * @param clazz The Forge event class
+     * @param factory The factory
+     */
+    public static void registerForgeEventFactory(Class<? extends net.minecraftforge.fml.common.eventhandler.Event> clazz,
+            Function<Event, net.minecraftforge.fml.common.eventhandler.Event> factory) {
+        forgeEventFactories.register(clazz, factory);
+    }
+
+    /**
+     * Registers the function that fires Forge events of the given class for
+     * every element of a sponge bulk event, returning the resulting sponge
+     * event. Sponge bulk events which aren't mapped to the class yet are
+     * mapped with {@link SpongeModEventManager#registerBulkEventMapping}.
+     *
+     * @param clazz The Forge event class
+     * @param caller The bulk event caller
+     */
+    public static void registerBulkForgeEventCaller(Class<? extends net.minecraftforge.fml.common.eventhandler.Event> clazz,
+            Function<Event, Event> caller) {
+        bulkForgeEventCallers.register(clazz, caller);
+    }
 
+    public static net.minecraftforge.fml.common.eventhandler.Event findAndCreateForgeEvent(Event event,
+            Class<? extends net.minecraftforge.fml.common.eventhandler.Event> clazz) {
         // return same event if not currently supported
-        return (net.minecraftforge.fml.common.eventhandler.Event) event;
+        return forgeEventFactories.get(clazz).orElse(SpongeForgeEventFactory::castToForgeEvent).apply(event);
     }
 
     // Used for firing single events to Forge from sponge bulk events
     public static Event callForgeEvent(Event spongeEvent, Class<? extends net.minecraftforge.fml.common.eventhandler.Event> clazz) {
-        if (EntityItemPickupEvent.class.isAssignableFrom(clazz)) {
-            return callEntityItemPickupEvent(spongeEvent);
-        } else if (EntityJoinWorldEvent.class.isAssignableFrom(clazz)) {
-            return callEntityJoinWorldEvent(spongeEvent);
-        } else if (BlockEvent.BreakEvent.class.isAssignableFrom(clazz)) {
-            return callBlockBreakEvent(spongeEvent);
-        } else if (BlockEvent.PlaceEvent.class.isAssignableFrom(clazz)) {
-            return callBlockPlaceEvent(spongeEvent);
-        }
-        return spongeEvent;
+        final Optional<Function<Event, Event>> caller = bulkForgeEventCallers.get(clazz);
+        return caller.isPresent() ? caller.get().apply(spongeEvent) : spongeEvent;
+    }
+
+    private static net.minecraftforge.fml.common.eventhandler.Event castToForgeEvent(Event event) {
+        return (net.minecraftforge.fml.common.eventhandler.Event) event;
     }
 
     // Block events
@@ -829,26 +756,77 @@ public static void onForgePost(net.minecraftforge.fml.common.eventhandler.Event
     }
 
     // Bulk Event Handling
+    /**
+     * Gets the listeners of a Forge event class on the given bus. The
+     * listener list of the class is looked up once, and rebuilds itself
+     * whenever a listener is registered, so the result is always current.
+     *
+     * @param bus The bus the event would be posted to
+     * @param clazz The Forge event class
+     * @return The listeners
+     */
+    public static IEventListener[] getForgeListeners(EventBus bus, Class<? extends net.minecraftforge.fml.common.eventhandler.Event> clazz) {
+        ListenerList listenerList = forgeListenerLists.get(clazz);
+        if (listenerList == null) {
+            try {
+                // Forge adds a public no-args constructor to every event class,
+                // it's the same one the bus uses to set up listener lists
+                listenerList = clazz.getConstructor().newInstance().getListenerList();
+            } catch (ReflectiveOperationException e) {
+                throw new IllegalArgumentException("Could not set up the listener list of " + clazz.getName(), e);
+            }
+            forgeListenerLists.putIfAbsent(clazz, listenerList);
+        }
+        return listenerList.getListeners(((IMixinEventBus) bus).getBusID());
+    }
+
+    /**
+     * Checks whether anything listens for the given Forge event class on the
+     * given bus, so that callers can skip constructing the event entirely.
+     *
+     * @param bus The bus the event would be posted to
+     * @param clazz The Forge event class
+     * @return False if posting the event would not reach any listener
+     */
+    public static boolean hasForgeListeners(EventBus bus, Class<? extends net.minecraftforge.fml.common.eventhandler.Event> clazz) {
+        return getForgeListeners(bus, clazz).length > 0;
+    }
+
+    /**
+     * Posts a Forge event for every element of a sponge bulk event.
+     *
+     * @param elements The elements of the bulk event
+     * @param factory Creates the Forge event for an element, or returns null
+     *     if the element has no Forge counterpart
+     * @param bus The bus to post the events to
+     * @param listeners The listeners of the Forge event class on the bus
+     * @param onCancelled Called with the iterator and the element whose Forge
+     *     event was cancelled
+     * @param <T> The element type
+     */
+    static <T> void postEach(Iterator<T> elements, Function<T, net.minecraftforge.fml.common.eventhandler.Event> factory, IMixinEventBus bus,
+            IEventListener[] listeners, BiConsumer<Iterator<T>, T> onCancelled) {
+        while (elements.hasNext()) {
+            final T element = elements.next();
+            final net.minecraftforge.fml.common.eventhandler.Event forgeEvent = factory.apply(element);
+            if (forgeEvent != null && bus.post(forgeEvent, listeners)) {
+                onCancelled.accept(elements, element);
+            }
+        }
+    }
+
     public static CollideEntityEvent callEntityItemPickupEvent(Event event) {
         if (!(event instanceof CollideEntityEvent)) {
             throw new IllegalArgumentException("Event is not a valid CollideEntityEvent.");
         }
 
         CollideEntityEvent spongeEvent = (CollideEntityEvent) event;
-        if (spongeEvent.getCause().first(Player.class).isPresent()) {
-            Iterator<org.spongepowered.api.entity.Entity> iterator = spongeEvent.getEntities().iterator();
-            while (iterator.hasNext()) {
-                org.spongepowered.api.entity.Entity entity = iterator.next();
-                if (entity instanceof org.spongepowered.api.entity.Item) {
-                    EntityItem entityItem = (EntityItem) entity;
-                    EntityItemPickupEvent forgeEvent =
-                            new EntityItemPickupEvent((EntityPlayer) spongeEvent.getCause().first(Player.class).get(), entityItem);
-                    ((IMixinEventBus) MinecraftForge.EVENT_BUS).post(forgeEvent, true);
-                    if (forgeEvent.isCanceled()) {
-                        iterator.remove();
-                    }
-                }
-            }
+        Optional<Player> player = spongeEvent.getCause().first(Player.class);
+        IEventListener[] listeners = getForgeListeners(MinecraftForge.EVENT_BUS, EntityItemPickupEvent.class);
+        if (player.isPresent() && listeners.length > 0) {
+            postEach(spongeEvent.getEntities().iterator(), entity -> entity instanceof org.spongepowered.api.entity.Item
+                            ? new EntityItemPickupEvent((EntityPlayer) player.get(), (EntityItem) entity) : null,
+                    (IMixinEventBus) MinecraftForge.EVENT_BUS, listeners, (iterator, entity) -> iterator.remove());
         }
         return spongeEvent;
     }
@@ -859,17 +837,14 @@ public static SpawnEntityEvent callEntityJoinWorldEvent(Event event) {
         }
 
         SpawnEntityEvent spongeEvent = (SpawnEntityEvent) event;
-        Iterator<org.spongepowered.api.entity.Entity> iterator = spongeEvent.getEntities().iterator();
-        while (iterator.hasNext()) {
-            org.spongepowered.api.entity.Entity entity = iterator.next();
-            EntityJoinWorldEvent forgeEvent = new EntityJoinWorldEvent((net.minecraft.entity.Entity) entity,
-                    (net.minecraft.world.World) entity.getLocation().getExtent());
-
-            ((IMixinEventBus) MinecraftForge.EVENT_BUS).post(forgeEvent, true);
-            if (forgeEvent.isCanceled()) {
-                iterator.remove();
-            }
+        IEventListener[] listeners = getForgeListeners(MinecraftForge.EVENT_BUS, EntityJoinWorldEvent.class);
+        if (listeners.length == 0) {
+            return spongeEvent;
         }
+
+        postEach(spongeEvent.getEntities().iterator(), entity -> new EntityJoinWorldEvent((net.minecraft.entity.Entity) entity,
+                        (net.minecraft.world.World) entity.getLocation().getExtent()),
+                (IMixinEventBus) MinecraftForge.EVENT_BUS, listeners, (iterator, entity) -> iterator.remove());
         return spongeEvent;
     }
 
@@ -880,11 +855,10 @@ public static ChangeBlockEvent.Break callBlockBreakEvent(Event event) {
 
         ChangeBlockEvent.Break spongeEvent = (ChangeBlockEvent.Break) event;
 
-        if (spongeEvent.getCause().first(Player.class).isPresent()) {
-            Player player = spongeEvent.getCause().first(Player.class).get();
-            Iterator<Transaction<BlockSnapshot>> iterator = spongeEvent.getTransactions().iterator();
-            while (iterator.hasNext()) {
-                Transaction<BlockSnapshot> transaction = iterator.next();
+        Optional<Player> player = spongeEvent.getCause().first(Player.class);
+        IEventListener[] listeners = getForgeListeners(MinecraftForge.EVENT_BUS, BlockEvent.BreakEvent.class);
+        if (player.isPresent() && listeners.length > 0) {
+            postEach(spongeEvent.getTransactions().iterator(), transaction -> {
                 Location<World> location = transaction.getOriginal().getLocation().get();
                 net.minecraft.world.World world = (net.minecraft.world.World) location.getExtent();
                 BlockPos pos = new BlockPos(location.getBlockX(), location.getBlockY(), location.getBlockZ());
@@ -892,14 +866,10 @@ public static ChangeBlockEvent.Break callBlockBreakEvent(Event event) {
                 StaticMixinHelper.breakEventExtendedState = (IBlockState) transaction.getOriginal().getExtendedState();
                 BlockEvent.BreakEvent forgeEvent =
                         new BlockEvent.BreakEvent(world, pos, (IBlockState) transaction.getOriginal().getState(),
-                                (EntityPlayer) player);
+                                (EntityPlayer) player.get());
                 StaticMixinHelper.breakEventExtendedState = null;
-
-                ((IMixinEventBus) MinecraftForge.EVENT_BUS).post(forgeEvent, true);
-                if (forgeEvent.isCanceled()) {
-                    transaction.setValid(false);
-                }
-            }
+                return forgeEvent;
+            }, (IMixinEventBus) MinecraftForge.EVENT_BUS, listeners, (iterator, transaction) -> transaction.setValid(false));
         }
         return spongeEvent;
     }
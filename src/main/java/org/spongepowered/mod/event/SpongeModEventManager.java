@@ -26,8 +26,12 @@
 
 import static com.google.common.base.Preconditions.checkNotNull;
 
+import com.google.common.base.Throwables;
 import com.google.common.collect.ImmutableBiMap;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Sets;
+import net.minecraft.server.MinecraftServer;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.ServerChatEvent;
 import net.minecraftforge.event.entity.EntityEvent;
@@ -56,6 +60,7 @@
 import net.minecraftforge.fml.common.ModContainer;
 import net.minecraftforge.fml.common.eventhandler.EventBus;
 import net.minecraftforge.fml.common.eventhandler.EventPriority;
+import net.minecraftforge.fml.common.eventhandler.IEventExceptionHandler;
 import net.minecraftforge.fml.common.eventhandler.IEventListener;
 import net.minecraftforge.fml.common.gameevent.PlayerEvent;
 import org.spongepowered.api.event.Cancellable;
@@ -92,8 +97,18 @@
 import org.spongepowered.mod.interfaces.IMixinEventBus;
 import org.spongepowered.mod.interfaces.IMixinLoadController;
 
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.function.Supplier;
 
+import javax.annotation.Nullable;
 import javax.inject.Inject;
 
 public class SpongeModEventManager extends SpongeEventManager {
@@ -107,7 +122,7 @@ public class SpongeModEventManager extends SpongeEventManager {
                     .put(EventPriority.LOWEST, Order.LAST)
                     .build();
 
-    private final ImmutableMap<Class<? extends Event>, Class<? extends net.minecraftforge.fml.common.eventhandler.Event>> eventMappings =
+    private final Map<Class<? extends Event>, Class<? extends net.minecraftforge.fml.common.eventhandler.Event>> eventMappings = new ConcurrentHashMap<>(
             new ImmutableMap.Builder<Class<? extends Event>, Class<? extends net.minecraftforge.fml.common.eventhandler.Event>>()
                     .put(NotifyNeighborBlockEvent.class, BlockEvent.NeighborNotifyEvent.class)
                     .put(TargetChunkEvent.class, ChunkEvent.class)
@@ -136,8 +151,15 @@ public class SpongeModEventManager extends SpongeEventManager {
                     .put(ClientConnectionEvent.Join.class, PlayerEvent.PlayerLoggedInEvent.class)
                     .put(ClientConnectionEvent.Disconnect.class, PlayerEvent.PlayerLoggedOutEvent.class)
                     .put(SleepingEvent.Pre.class, PlayerSleepInBedEvent.class)
-                    .build();
+                    .build());
 
+    /**
+     * The built-in bulk event mappings.
+     *
+     * @deprecated Only holds the mappings Sponge starts with, use
+     *     {@link #registerBulkEventMapping} to add more
+     */
+    @Deprecated
     public static final ImmutableMap<Class<? extends Event>, Class<? extends net.minecraftforge.fml.common.eventhandler.Event>> eventBulkMappings =
             new ImmutableMap.Builder<Class<? extends Event>, Class<? extends net.minecraftforge.fml.common.eventhandler.Event>>()
                 .put(CollideEntityEvent.class, EntityItemPickupEvent.class)
@@ -146,6 +168,9 @@ public class SpongeModEventManager extends SpongeEventManager {
                 .put(ChangeBlockEvent.Place.class, BlockEvent.PlaceEvent.class)
                 .build();
 
+    private final Map<Class<? extends Event>, Class<? extends net.minecraftforge.fml.common.eventhandler.Event>> bulkMappings =
+            new ConcurrentHashMap<>(eventBulkMappings);
+
     private final ImmutableMap<Class<? extends net.minecraftforge.fml.common.eventhandler.Event>, EventBus> busMappings =
             new ImmutableMap.Builder<Class<? extends net.minecraftforge.fml.common.eventhandler.Event>, EventBus>()
                     .put(OreGenEvent.class, MinecraftForge.ORE_GEN_BUS)
@@ -159,21 +184,137 @@ public class SpongeModEventManager extends SpongeEventManager {
                     .put(PlayerEvent.class, FMLCommonHandler.instance().bus())
                     .build();
 
+    // Bumped whenever a mapping is registered, routes resolved before that are recomputed
+    private volatile int mappingsVersion;
+    private final ClassValue<EventRoute> eventRoutes = new ClassValue<EventRoute>() {
+
+        @Override
+        protected EventRoute computeValue(Class<?> type) {
+            return createRoute(type);
+        }
+    };
+
+    private final Map<RegisteredListener.Cache, PhasedListeners> phasedListeners = new MapMaker().weakKeys().makeMap();
+    // Stands in for an event of the given interface when only its listeners are looked up
+    private static final ClassValue<Event> listenerProbes = new ClassValue<Event>() {
+
+        @Override
+        protected Event computeValue(Class<?> type) {
+            return (Event) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[] {type}, (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "hashCode":
+                        return System.identityHashCode(proxy);
+                    case "equals":
+                        return proxy == args[0];
+                    case "toString":
+                        return type.getName();
+                    default:
+                        throw new UnsupportedOperationException(method.toString());
+                }
+            });
+        }
+    };
+    // Futures of async posts whose sync phase has not run yet
+    private final Set<CompletableFuture<Boolean>> pendingAsyncPosts = Sets.newConcurrentHashSet();
+
     @Inject
     public SpongeModEventManager(PluginManager pluginManager) {
         super(pluginManager);
     }
 
+    /**
+     * Maps a sponge event interface to the Forge event class it is posted
+     * as. The Forge event is created by the factory registered through
+     * {@link SpongeForgeEventFactory#registerForgeEventFactory}.
+     *
+     * @param spongeEventClass The sponge event interface
+     * @param forgeEventClass The Forge event class
+     */
+    public synchronized void registerEventMapping(Class<? extends Event> spongeEventClass,
+            Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeEventClass) {
+        this.eventMappings.put(checkNotNull(spongeEventClass, "spongeEventClass"), checkNotNull(forgeEventClass, "forgeEventClass"));
+        this.mappingsVersion++;
+    }
+
+    /**
+     * Maps a sponge bulk event interface to the Forge event class fired for
+     * each of its elements, by the caller registered through
+     * {@link SpongeForgeEventFactory#registerBulkForgeEventCaller}.
+     *
+     * @param spongeEventClass The sponge bulk event interface
+     * @param forgeEventClass The Forge event class
+     */
+    public synchronized void registerBulkEventMapping(Class<? extends Event> spongeEventClass,
+            Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeEventClass) {
+        this.bulkMappings.put(checkNotNull(spongeEventClass, "spongeEventClass"), checkNotNull(forgeEventClass, "forgeEventClass"));
+        this.mappingsVersion++;
+    }
+
     public boolean post(Event spongeEvent, net.minecraftforge.fml.common.eventhandler.Event forgeEvent, IEventListener[] listeners) {
+        return post(spongeEvent, forgeEvent, listeners, false);
+    }
+
+    private boolean post(@Nullable Event spongeEvent, net.minecraftforge.fml.common.eventhandler.Event forgeEvent, IEventListener[] listeners,
+            boolean syncOnly) {
         checkNotNull(forgeEvent, "forgeEvent");
 
-        if (spongeEvent == null) { // Fired by Forge
+        final boolean firedByForge = spongeEvent == null;
+        if (firedByForge) {
             spongeEvent = ((IMixinEvent) forgeEvent).createSpongeEvent();
         }
-        RegisteredListener.Cache listenerCache = getHandlerCache(spongeEvent);
+        final PhasedListeners pluginListeners = getPhasedListeners(spongeEvent, syncOnly);
+        final IMixinLoadController loadController = (IMixinLoadController) SpongeMod.instance.getController();
+        if (firedByForge) {
+            return postForgeFired(spongeEvent, forgeEvent, listeners, pluginListeners.all, pluginListeners.beforeModifications,
+                    pluginListeners.afterModifications, loadController);
+        }
+        return post(spongeEvent, forgeEvent, listeners, pluginListeners.beforeModifications, pluginListeners.afterModifications,
+                loadController);
+    }
+
+    /**
+     * Posts an event fired by a mod on a Forge bus. If no plugin listens for
+     * it, it only reaches the Forge listeners, skipping the plugin phases and
+     * the data sync between the sponge and Forge event.
+     *
+     * @param spongeEvent The sponge event bridging the Forge event
+     * @param forgeEvent The Forge event
+     * @param listeners The Forge listeners
+     * @param pluginListeners All plugin listeners of the sponge event
+     * @param beforeModifications The plugin listeners which run before Forge listeners
+     * @param afterModifications The plugin listeners which run after Forge listeners
+     * @param loadController The load controller tracking the active mod container
+     * @return Whether the Forge event was cancelled
+     */
+    static boolean postForgeFired(Event spongeEvent, net.minecraftforge.fml.common.eventhandler.Event forgeEvent, IEventListener[] listeners,
+            RegisteredListener<?>[] pluginListeners, RegisteredListener<?>[] beforeModifications, RegisteredListener<?>[] afterModifications,
+            IMixinLoadController loadController) {
+        if (pluginListeners.length == 0) {
+            // No plugin can observe the event, so there is nothing to sync in either direction
+            invokeForgeListeners(forgeEvent, listeners);
+            return forgeEvent.isCancelable() && forgeEvent.isCanceled();
+        }
+        return post(spongeEvent, forgeEvent, listeners, beforeModifications, afterModifications, loadController);
+    }
+
+    /**
+     * Posts an event to the plugin listeners which run before modifications,
+     * the Forge listeners and the remaining plugin listeners, syncing the
+     * event data between the sponge and Forge event in between.
+     *
+     * @param spongeEvent The sponge event
+     * @param forgeEvent The Forge event bridging the sponge event
+     * @param listeners The Forge listeners
+     * @param beforeModifications The plugin listeners which run before Forge listeners
+     * @param afterModifications The plugin listeners which run after Forge listeners
+     * @param loadController The load controller tracking the active mod container
+     * @return Whether the Forge event was cancelled
+     */
+    static boolean post(Event spongeEvent, net.minecraftforge.fml.common.eventhandler.Event forgeEvent, IEventListener[] listeners,
+            RegisteredListener<?>[] beforeModifications, RegisteredListener<?>[] afterModifications, IMixinLoadController loadController) {
         // Fire events to plugins before modifications
-        for (Order order : Order.values()) {
-            post(spongeEvent, listenerCache.getListenersByOrder(order), true, false);
+        if (beforeModifications.length > 0) {
+            post(spongeEvent, beforeModifications, loadController);
         }
 
         // If there are no forge listeners for event, skip sync
@@ -181,21 +322,15 @@ public boolean post(Event spongeEvent, net.minecraftforge.fml.common.eventhandle
             // sync plugin data for Mods
             ((IMixinEvent) forgeEvent).syncDataToForge(spongeEvent);
 
-            for (IEventListener listener : listeners) {
-                try {
-                    listener.invoke(forgeEvent);
-                } catch (Throwable throwable) {
-                    SpongeImpl.getLogger().catching(throwable);
-                }
-            }
+            invokeForgeListeners(forgeEvent, listeners);
 
             // sync Forge data for Plugins
             ((IMixinEvent)spongeEvent).syncDataToSponge(forgeEvent);
         }
 
         // Fire events to plugins after modifications (default)
-        for (Order order : Order.values()) {
-            post(spongeEvent, listenerCache.getListenersByOrder(order), false, false);
+        if (afterModifications.length > 0) {
+            post(spongeEvent, afterModifications, loadController);
         }
 
         // sync plugin data for Forge
@@ -209,42 +344,140 @@ public boolean post(Event spongeEvent, net.minecraftforge.fml.common.eventhandle
         return forgeEvent.isCancelable() && forgeEvent.isCanceled();
     }
 
+    // Listeners that fail are logged, the remaining listeners still receive the event
+    private static void invokeForgeListeners(net.minecraftforge.fml.common.eventhandler.Event forgeEvent, IEventListener[] listeners) {
+        for (IEventListener listener : listeners) {
+            try {
+                EventTimings.invoke(listener, forgeEvent);
+            } catch (Throwable throwable) {
+                SpongeImpl.getLogger().catching(throwable);
+            }
+        }
+    }
+
+    /**
+     * Posts an event to Forge listeners only, the way an {@link EventBus}
+     * does. A failing listener is passed to the exception handler of the bus
+     * and stops the event from reaching the remaining listeners.
+     *
+     * @param forgeEvent The event to post
+     * @param listeners The listeners of the event class on the bus
+     * @param bus The bus the event is posted on
+     * @param exceptionHandler The exception handler of the bus
+     * @return Whether the event was cancelled
+     */
+    public static boolean postForge(net.minecraftforge.fml.common.eventhandler.Event forgeEvent, IEventListener[] listeners, EventBus bus,
+            IEventExceptionHandler exceptionHandler) {
+        int index = 0;
+        try {
+            for (; index < listeners.length; index++) {
+                EventTimings.invoke(listeners[index], forgeEvent);
+            }
+        } catch (Throwable throwable) {
+            exceptionHandler.handleException(bus, forgeEvent, listeners, index, throwable);
+            Throwables.propagate(throwable);
+        }
+        return forgeEvent.isCancelable() && forgeEvent.isCanceled();
+    }
+
     public boolean postBulk(Event spongeEvent, Class<? extends net.minecraftforge.fml.common.eventhandler.Event> clazz) {
-        RegisteredListener.Cache listenerCache = getHandlerCache(spongeEvent);
+        return postBulk(spongeEvent, clazz, false);
+    }
+
+    private boolean postBulk(Event spongeEvent, Class<? extends net.minecraftforge.fml.common.eventhandler.Event> clazz, boolean syncOnly) {
+        final PhasedListeners pluginListeners = getPhasedListeners(spongeEvent, syncOnly);
         // Fire events to plugins before modifications
-        for (Order order : Order.values()) {
-            post(spongeEvent, listenerCache.getListenersByOrder(order), true, false);
-        }
+        post(spongeEvent, pluginListeners.beforeModifications);
 
         StaticMixinHelper.processingInternalForgeEvent = true;
         spongeEvent = SpongeForgeEventFactory.callForgeEvent(spongeEvent, clazz);
         StaticMixinHelper.processingInternalForgeEvent = false;
 
         // Fire events to plugins after modifications (default)
-        for (Order order : Order.values()) {
-            post(spongeEvent, listenerCache.getListenersByOrder(order), false, false);
-        }
+        post(spongeEvent, pluginListeners.afterModifications);
 
         return spongeEvent instanceof Cancellable && ((Cancellable) spongeEvent).isCancelled();
     }
 
+    protected static boolean post(Event event, RegisteredListener<?>[] listeners) {
+        if (listeners.length == 0) {
+            return event instanceof Cancellable && ((Cancellable) event).isCancelled();
+        }
+        return post(event, listeners, (IMixinLoadController) SpongeMod.instance.getController());
+    }
+
     @SuppressWarnings("unchecked")
-    protected static boolean post(Event event, List<RegisteredListener<?>> listeners, boolean beforeModifications, boolean forced) {
-        ModContainer oldContainer = ((IMixinLoadController) SpongeMod.instance.getController()).getActiveModContainer();
+    static boolean post(Event event, RegisteredListener<?>[] listeners, IMixinLoadController loadController) {
+        final ModContainer oldContainer = loadController.getActiveModContainer();
+        ModContainer activeContainer = oldContainer;
         for (@SuppressWarnings("rawtypes") RegisteredListener listener : listeners) {
-            ((IMixinLoadController) SpongeMod.instance.getController()).setActiveModContainer((ModContainer) listener.getPlugin());
+            // Listeners of the same plugin are usually adjacent, only switch containers between plugins
+            if (listener.getPlugin() != activeContainer) {
+                activeContainer = (ModContainer) listener.getPlugin();
+                loadController.setActiveModContainer(activeContainer);
+            }
             try {
-                if (forced || (!listener.isBeforeModifications() && !beforeModifications) || (listener.isBeforeModifications() && beforeModifications)) {
-                    listener.handle(event);
-                }
+                EventTimings.handle(listener, event);
             } catch (Throwable e) {
                 SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), listener.getPlugin(), e);
             }
         }
-        ((IMixinLoadController) SpongeMod.instance.getController()).setActiveModContainer(oldContainer);
+        if (activeContainer != oldContainer) {
+            loadController.setActiveModContainer(oldContainer);
+        }
         return event instanceof Cancellable && ((Cancellable) event).isCancelled();
     }
 
+    private static void postAsyncListeners(Event event, RegisteredListener<?>[] listeners) {
+        for (@SuppressWarnings("rawtypes") RegisteredListener listener : listeners) {
+            try {
+                EventTimings.handle(listener, event);
+            } catch (Throwable e) {
+                SpongeImpl.getLogger().error("Could not pass {} to {}", event.getClass().getSimpleName(), listener.getPlugin(), e);
+            }
+        }
+    }
+
+    private PhasedListeners getPhasedListeners(Event event, boolean syncOnly) {
+        final PhasedListeners phasedListeners = getPhasedListeners(event);
+        return syncOnly ? phasedListeners.sync : phasedListeners;
+    }
+
+    private PhasedListeners getPhasedListeners(Event event) {
+        // A new cache is built whenever listeners are registered or unregistered, so the split arrays never go stale
+        final RegisteredListener.Cache listenerCache = getHandlerCache(event);
+        PhasedListeners phasedListeners = this.phasedListeners.get(listenerCache);
+        if (phasedListeners == null) {
+            phasedListeners = new PhasedListeners(listenerCache);
+            this.phasedListeners.put(listenerCache, phasedListeners);
+        }
+        return phasedListeners;
+    }
+
+    /**
+     * Checks whether any plugin listens for events of the given event's type.
+     * Callers can post a cheap instance to find out whether building the
+     * full event data is worth it.
+     *
+     * @param event An event of the type to check
+     * @return False if posting the event would not reach any plugin listener
+     */
+    public boolean hasListeners(Event event) {
+        return getPhasedListeners(event).all.length > 0;
+    }
+
+    /**
+     * Checks whether any plugin listens for events of the given type, without
+     * having to create an event first.
+     *
+     * @param eventClass The event interface to check
+     * @return False if posting an event of the type would not reach any
+     *     plugin listener
+     */
+    public boolean hasListeners(Class<? extends Event> eventClass) {
+        return getPhasedListeners(listenerProbes.get(eventClass)).all.length > 0;
+    }
+
     @Override
     public boolean post(Event event) {
         return this.post(event, false);
@@ -252,34 +485,208 @@ public boolean post(Event event) {
 
     @Override
     public boolean post(Event spongeEvent, boolean allowClientThread) {
+        return post(spongeEvent, allowClientThread, false);
+    }
+
+    private boolean post(Event spongeEvent, boolean allowClientThread, boolean syncOnly) {
         if (!allowClientThread & SpongeMod.instance.isClientThread()) {
             return false;
         }
 
-        if(spongeEvent.getClass().getInterfaces().length > 0) {
-            Class<? extends net.minecraftforge.fml.common.eventhandler.Event> clazz = this.eventMappings.get(spongeEvent.getClass().getInterfaces()[0]);
-            if (clazz == null) {
-                clazz = eventBulkMappings.get(spongeEvent.getClass().getInterfaces()[0]);
-                if (clazz != null) {
-                    return postBulk(spongeEvent, clazz);
-                }
-            } else {
-                StaticMixinHelper.processingInternalForgeEvent = true;
-                net.minecraftforge.fml.common.eventhandler.Event forgeEvent = SpongeForgeEventFactory.findAndCreateForgeEvent(spongeEvent, clazz);
-                StaticMixinHelper.processingInternalForgeEvent = false;
-                if (forgeEvent != null) {
-                    // Avoid separate mappings for events defined as inner classes
-                    Class<?> enclosingClass = forgeEvent.getClass().getEnclosingClass();
-                    EventBus bus = this.busMappings.get(enclosingClass == null ? forgeEvent.getClass() : enclosingClass);
-                    if (bus == null) {
-                        bus = MinecraftForge.EVENT_BUS;
+        EventRoute route = this.eventRoutes.get(spongeEvent.getClass());
+        if (route.mappingsVersion != this.mappingsVersion) {
+            this.eventRoutes.remove(spongeEvent.getClass());
+            route = this.eventRoutes.get(spongeEvent.getClass());
+        }
+        if (route.bulk) {
+            return postBulk(spongeEvent, route.forgeEventClass, syncOnly);
+        } else if (route.forgeEventClass != null) {
+            StaticMixinHelper.processingInternalForgeEvent = true;
+            net.minecraftforge.fml.common.eventhandler.Event forgeEvent = route.factory.apply(spongeEvent);
+            StaticMixinHelper.processingInternalForgeEvent = false;
+            if (forgeEvent != null) {
+                return post(spongeEvent, forgeEvent, forgeEvent.getListenerList().getListeners(route.busId), syncOnly);
+            }
+        }
+        return post(spongeEvent, getPhasedListeners(spongeEvent, syncOnly).all); // no checking for modifications required
+    }
+
+    /**
+     * Posts an event to {@link AsyncEventListener}s off the server thread,
+     * and to all other listeners on the server thread afterwards.
+     *
+     * <p>If the event has no async listeners and is posted from the server
+     * thread, it is posted right away.</p>
+     *
+     * @param spongeEvent The event to post
+     * @return A future completed on the server thread with whether the event
+     *     was cancelled, or cancelled if the server stops first
+     */
+    public CompletableFuture<Boolean> postAsync(Event spongeEvent) {
+        return postAsync(spongeEvent, () -> post(spongeEvent, false, true));
+    }
+
+    /**
+     * Posts a Forge event which bridges a sponge event to
+     * {@link AsyncEventListener}s off the server thread, and to all other
+     * plugin and Forge listeners on the server thread afterwards.
+     *
+     * @param forgeEvent The Forge event to post
+     * @param bus The bus the event is posted on
+     * @return A future completed on the server thread with whether the event
+     *     was cancelled, or cancelled if the server stops first
+     */
+    public CompletableFuture<Boolean> postAsync(net.minecraftforge.fml.common.eventhandler.Event forgeEvent, EventBus bus) {
+        final Event spongeEvent = ((IMixinEvent) forgeEvent).createSpongeEvent();
+        return postAsync(spongeEvent, () -> {
+            final boolean cancelled = post(spongeEvent, forgeEvent, forgeEvent.getListenerList().getListeners(((IMixinEventBus) bus).getBusID()), true);
+            if (!cancelled) {
+                SpongeForgeEventFactory.onForgePost(forgeEvent);
+            }
+            return cancelled;
+        });
+    }
+
+    private CompletableFuture<Boolean> postAsync(Event spongeEvent, Supplier<Boolean> syncPhase) {
+        final RegisteredListener<?>[] asyncListeners = getPhasedListeners(spongeEvent).async;
+        final MinecraftServer server = MinecraftServer.getServer();
+        if (asyncListeners.length == 0 && server.isCallingFromMinecraftThread()) {
+            return CompletableFuture.completedFuture(syncPhase.get());
+        }
+
+        final CompletableFuture<Boolean> future = new CompletableFuture<>();
+        this.pendingAsyncPosts.add(future);
+        future.whenComplete((cancelled, throwable) -> this.pendingAsyncPosts.remove(future));
+        SpongeImpl.getGame().getScheduler().createTaskBuilder()
+                .async()
+                .name("Sponge - Async " + spongeEvent.getClass().getSimpleName())
+                .execute(() -> {
+                    postAsyncListeners(spongeEvent, asyncListeners);
+                    if (!server.isServerRunning()) {
+                        // Scheduled tasks are no longer run once the server stopped
+                        future.cancel(false);
+                        return;
                     }
+                    server.addScheduledTask(() -> {
+                        if (future.isDone()) {
+                            return;
+                        }
+                        try {
+                            future.complete(syncPhase.get());
+                        } catch (Throwable t) {
+                            future.completeExceptionally(t);
+                        }
+                    });
+                })
+                .submit(SpongeImpl.getPlugin().getInstance().get());
+        return future;
+    }
+
+    /**
+     * Cancels the futures of all async posts whose sync phase has not run
+     * yet, as it never will once the server stopped.
+     */
+    public void cancelPendingAsyncPosts() {
+        for (CompletableFuture<Boolean> future : this.pendingAsyncPosts) {
+            future.cancel(false);
+        }
+    }
+
+    private EventRoute createRoute(Class<?> eventClass) {
+        // Read before the mappings, so a mapping registered meanwhile makes the route stale
+        final int mappingsVersion = this.mappingsVersion;
+        final Class<?>[] interfaces = eventClass.getInterfaces();
+        if (interfaces.length == 0) {
+            return new EventRoute(null, false, 0, null, mappingsVersion);
+        }
+
+        Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeEventClass = this.eventMappings.get(interfaces[0]);
+        if (forgeEventClass == null) {
+            forgeEventClass = this.bulkMappings.get(interfaces[0]);
+            return new EventRoute(forgeEventClass, forgeEventClass != null, 0, null, mappingsVersion);
+        }
+
+        // Avoid separate mappings for events defined as inner classes
+        Class<?> enclosingClass = forgeEventClass.getEnclosingClass();
+        EventBus bus = this.busMappings.get(enclosingClass == null ? forgeEventClass : enclosingClass);
+        if (bus == null) {
+            bus = MinecraftForge.EVENT_BUS;
+        }
+
+        final Class<? extends net.minecraftforge.fml.common.eventhandler.Event> factoryClass = forgeEventClass;
+        return new EventRoute(forgeEventClass, false, ((IMixinEventBus) bus).getBusID(),
+                event -> SpongeForgeEventFactory.findAndCreateForgeEvent(event, factoryClass), mappingsVersion);
+    }
 
-                    return post(spongeEvent, forgeEvent, forgeEvent.getListenerList().getListeners(((IMixinEventBus) bus).getBusID()));
+    /**
+     * The plugin listeners of a {@link RegisteredListener.Cache}, flattened
+     * across all orders and split by the phase they run in.
+     */
+    private static final class PhasedListeners {
+
+        final RegisteredListener<?>[] all;
+        final RegisteredListener<?>[] beforeModifications;
+        final RegisteredListener<?>[] afterModifications;
+        final RegisteredListener<?>[] async;
+        // The listeners which run on the server thread when the event is posted async
+        final PhasedListeners sync;
+
+        PhasedListeners(RegisteredListener.Cache listenerCache) {
+            final List<RegisteredListener<?>> before = new ArrayList<>();
+            final List<RegisteredListener<?>> after = new ArrayList<>();
+            final List<RegisteredListener<?>> async = new ArrayList<>();
+            for (Order order : Order.values()) {
+                for (RegisteredListener<?> listener : listenerCache.getListenersByOrder(order)) {
+                    (listener.isBeforeModifications() ? before : after).add(listener);
+                    if (listener.getHandler() instanceof AsyncEventListener) {
+                        async.add(listener);
+                    }
                 }
             }
+            this.all = listenerCache.getListeners().toArray(new RegisteredListener<?>[0]);
+            this.beforeModifications = before.toArray(new RegisteredListener<?>[before.size()]);
+            this.afterModifications = after.toArray(new RegisteredListener<?>[after.size()]);
+            this.async = async.toArray(new RegisteredListener<?>[async.size()]);
+            this.sync = async.isEmpty() ? this : new PhasedListeners(withoutAsync(this.all), withoutAsync(this.beforeModifications),
+                    withoutAsync(this.afterModifications));
+        }
+
+        private PhasedListeners(RegisteredListener<?>[] all, RegisteredListener<?>[] beforeModifications,
+                RegisteredListener<?>[] afterModifications) {
+            this.all = all;
+            this.beforeModifications = beforeModifications;
+            this.afterModifications = afterModifications;
+            this.async = new RegisteredListener<?>[0];
+            this.sync = this;
+        }
+
+        private static RegisteredListener<?>[] withoutAsync(RegisteredListener<?>[] listeners) {
+            return Arrays.stream(listeners)
+                    .filter(listener -> !(listener.getHandler() instanceof AsyncEventListener))
+                    .toArray(RegisteredListener<?>[]::new);
+        }
+    }
+
+    /**
+     * Where a concrete sponge event class is dispatched to, resolved once per
+     * class instead of on every post.
+     */
+    private static final class EventRoute {
+
+        @Nullable final Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeEventClass;
+        final boolean bulk;
+        final int busId;
+        @Nullable final Function<Event, net.minecraftforge.fml.common.eventhandler.Event> factory;
+        final int mappingsVersion;
+
+        EventRoute(@Nullable Class<? extends net.minecraftforge.fml.common.eventhandler.Event> forgeEventClass, boolean bulk, int busId,
+                @Nullable Function<Event, net.minecraftforge.fml.common.eventhandler.Event> factory, int mappingsVersion) {
+            this.forgeEventClass = forgeEventClass;
+            this.bulk = bulk;
+            this.busId = busId;
+            this.factory = factory;
+            this.mappingsVersion = mappingsVersion;
         }
-        return post(spongeEvent, getHandlerCache(spongeEvent).getListeners(), false, true); // no checking for modifications required
     }
 
 }
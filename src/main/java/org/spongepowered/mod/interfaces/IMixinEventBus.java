@@ -25,10 +25,21 @@
 package org.spongepowered.mod.interfaces;
 
 import net.minecraftforge.fml.common.eventhandler.Event;
+import net.minecraftforge.fml.common.eventhandler.IEventListener;
 
 public interface IMixinEventBus {
 
     int getBusID();
 
     boolean post(Event event, boolean forgeOnly);
+
+    /**
+     * Posts an event to Forge listeners only, using listeners that were
+     * already looked up for the event class.
+     *
+     * @param event The event to post
+     * @param listeners The listeners of the event class on this bus
+     * @return Whether the event was cancelled
+     */
+    boolean post(Event event, IEventListener[] listeners);
 }
@@ -0,0 +1,76 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.chunkgeneration;
+
+import net.minecraft.world.biome.WorldChunkManager;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+import org.spongepowered.mod.interfaces.IMixinWorldChunkManager;
+
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Serializes biome lookups, as the gen layers and the biome cache are used
+ * by the main thread and the chunk generation workers alike.
+ */
+@Mixin(WorldChunkManager.class)
+public abstract class MixinWorldChunkManager implements IMixinWorldChunkManager {
+
+    private final ReentrantLock biomeLock = new ReentrantLock();
+
+    @Inject(method = {"getBiomeGenerator(Lnet/minecraft/util/BlockPos;Lnet/minecraft/world/biome/BiomeGenBase;)"
+            + "Lnet/minecraft/world/biome/BiomeGenBase;", "getRainfall", "getBiomesForGeneration", "getBiomeGenAt", "areBiomesViable",
+            "findBiomePosition"}, at = @At("HEAD"))
+    private void onLookupStart(CallbackInfoReturnable<?> cir) {
+        this.biomeLock.lock();
+    }
+
+    @Inject(method = {"getBiomeGenerator(Lnet/minecraft/util/BlockPos;Lnet/minecraft/world/biome/BiomeGenBase;)"
+            + "Lnet/minecraft/world/biome/BiomeGenBase;", "getRainfall", "getBiomesForGeneration", "getBiomeGenAt", "areBiomesViable",
+            "findBiomePosition"}, at = @At("RETURN"))
+    private void onLookupEnd(CallbackInfoReturnable<?> cir) {
+        this.biomeLock.unlock();
+    }
+
+    @Inject(method = "cleanupCache", at = @At("HEAD"))
+    private void onCleanupStart(CallbackInfo ci) {
+        this.biomeLock.lock();
+    }
+
+    @Inject(method = "cleanupCache", at = @At("RETURN"))
+    private void onCleanupEnd(CallbackInfo ci) {
+        this.biomeLock.unlock();
+    }
+
+    @Override
+    public void releaseBiomeLock() {
+        while (this.biomeLock.isHeldByCurrentThread()) {
+            this.biomeLock.unlock();
+        }
+    }
+}
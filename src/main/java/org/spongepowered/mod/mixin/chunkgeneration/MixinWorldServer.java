@@ -0,0 +1,63 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.chunkgeneration;
+
+import net.minecraft.world.MinecraftException;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.gen.ChunkProviderServer;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Redirect;
+import org.spongepowered.mod.world.gen.ChunkGenerationPipeline;
+import org.spongepowered.mod.world.gen.SpongeChunkProviderForge;
+
+/**
+ * Keeps chunk generation workers from writing structure data while it is
+ * being saved.
+ */
+@Mixin(WorldServer.class)
+public abstract class MixinWorldServer {
+
+    @Shadow public ChunkProviderServer theChunkProviderServer;
+
+    @Shadow protected abstract void saveLevel() throws MinecraftException;
+
+    @Redirect(method = "saveAllChunks", at = @At(value = "INVOKE", target = "Lnet/minecraft/world/WorldServer;saveLevel()V"))
+    private void onSaveLevel(WorldServer world) throws MinecraftException {
+        final ChunkGenerationPipeline pipeline = this.theChunkProviderServer.serverChunkGenerator instanceof SpongeChunkProviderForge
+                ? ((SpongeChunkProviderForge) this.theChunkProviderServer.serverChunkGenerator).getPipeline() : null;
+        if (pipeline == null) {
+            saveLevel();
+            return;
+        }
+        pipeline.lockGenerator();
+        try {
+            saveLevel();
+        } finally {
+            pipeline.unlockGenerator();
+        }
+    }
+}
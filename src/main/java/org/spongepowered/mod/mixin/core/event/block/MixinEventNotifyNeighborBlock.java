@@ -59,35 +59,42 @@ public abstract class MixinEventNotifyNeighborBlock extends MixinEventBlock impl
 
     private ImmutableMap<Direction, BlockState> originalNeighbors;
     private Map<Direction, BlockState> neighbors;
+    private boolean lazyNeighbors;
 
     @Shadow @Final @Mutable private EnumSet<EnumFacing> notifiedSides;
 
     @Inject(method = "<init>", at = @At("RETURN"))
     public void onConstructed(net.minecraft.world.World world, BlockPos pos, IBlockState state, EnumSet<EnumFacing> notifiedSides, CallbackInfo ci) {
-        if (!world.isRemote && !StaticMixinHelper.processingInternalForgeEvent) {
-            createSpongeEventData();
-        }
+        // Neighbor states are only looked up once a plugin asks for them
+        this.lazyNeighbors = !world.isRemote && !StaticMixinHelper.processingInternalForgeEvent;
     }
 
     @Override
     public ImmutableMap<Direction, BlockState> getOriginalNeighbors() {
+        if (this.lazyNeighbors) {
+            createSpongeEventData();
+        }
         return this.originalNeighbors;
     }
 
     @Override
     public Map<Direction, BlockState> getNeighbors() {
+        if (this.lazyNeighbors) {
+            createSpongeEventData();
+        }
         return this.neighbors;
     }
 
     @Override
     public void filterDirections(Predicate<Direction> predicate) {
-        Iterator<Direction> iterator = this.neighbors.keySet().iterator();
+        Iterator<Direction> iterator = getNeighbors().keySet().iterator();
         if (!predicate.test(iterator.next())) {
             iterator.remove();
         }
     }
 
     public void createSpongeEventData() {
+        this.lazyNeighbors = false;
         this.neighbors = new HashMap<>();
         if (this.notifiedSides != null) {
             for (EnumFacing notifiedSide : this.notifiedSides) {
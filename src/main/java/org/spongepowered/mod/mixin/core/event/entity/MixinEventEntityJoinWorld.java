@@ -38,7 +38,9 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.util.StaticMixinHelper;
+import org.spongepowered.mod.event.SpongeModEventManager;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -61,11 +63,13 @@ public void onConstructed(net.minecraft.entity.Entity entity, net.minecraft.worl
         }
 
         if (!world.isRemote) { // ignore client
-            this.entitySnapshot = ((Entity) this.entity).createSnapshot();
             this.entities = new ArrayList<>();
             this.entities.add((Entity) this.entity);
-            this.entitySnapshots = ImmutableList.of(this.entitySnapshot);
             this.cause = Cause.of(NamedCause.source(this.entity));
+            // Plugin listeners must see the entity as it was before Forge listeners ran
+            if (((SpongeModEventManager) SpongeImpl.getGame().getEventManager()).hasListeners(this)) {
+                getEntitySnapshots();
+            }
         }
     }
 
@@ -76,6 +80,10 @@ public List<Entity> getEntities() {
 
     @Override
     public List<EntitySnapshot> getEntitySnapshots() {
+        if (this.entitySnapshots == null && this.entities != null) {
+            this.entitySnapshot = ((Entity) this.entity).createSnapshot();
+            this.entitySnapshots = ImmutableList.of(this.entitySnapshot);
+        }
         return this.entitySnapshots;
     }
 
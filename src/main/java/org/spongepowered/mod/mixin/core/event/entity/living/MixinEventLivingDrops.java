@@ -47,8 +47,10 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.entity.IMixinEntityLivingBase;
 import org.spongepowered.common.util.StaticMixinHelper;
+import org.spongepowered.mod.event.SpongeModEventManager;
 
 import java.util.ArrayList;
 import java.util.Iterator;
@@ -76,32 +78,36 @@ public void onConstructed(EntityLivingBase entity, DamageSource source, List<Ent
         }
 
         if (!entity.worldObj.isRemote) { // ignore client
-            ImmutableList.Builder<EntitySnapshot> builder = new ImmutableList.Builder<>();
-            for (EntityItem entityItem : drops) {
-                builder.add(((Entity) entityItem).createSnapshot());
-            }
-
-            this.entitySnapshots = builder.build();
             this.cause = Cause.of(NamedCause.source(entity), NamedCause.of("Attacker", this.source));
+            // Plugin listeners must see the drops as they were before Forge listeners ran
+            if (((SpongeModEventManager) SpongeImpl.getGame().getEventManager()).hasListeners(this)) {
+                this.entitySnapshots = createSnapshots(drops);
+            }
         }
     }
 
     @Override
     public void syncDataToSponge(net.minecraftforge.fml.common.eventhandler.Event forgeEvent) {
         net.minecraftforge.event.entity.living.LivingDropsEvent event = (net.minecraftforge.event.entity.living.LivingDropsEvent) forgeEvent;
-
-        ImmutableList.Builder<EntitySnapshot> builder = new ImmutableList.Builder<>();
-        for (EntityItem entityItem : drops) {
-            builder.add(((Entity) entityItem).createSnapshot());
-        }
-        this.entitySnapshots = builder.build();
+        this.entitySnapshots = createSnapshots(event.drops);
     }
 
     @Override
     public List<EntitySnapshot> getEntitySnapshots() {
+        if (this.entitySnapshots == null && !this.entity.worldObj.isRemote) {
+            this.entitySnapshots = createSnapshots(this.drops);
+        }
         return this.entitySnapshots;
     }
 
+    private static ImmutableList<EntitySnapshot> createSnapshots(List<EntityItem> drops) {
+        ImmutableList.Builder<EntitySnapshot> builder = new ImmutableList.Builder<>();
+        for (EntityItem entityItem : drops) {
+            builder.add(((Entity) entityItem).createSnapshot());
+        }
+        return builder.build();
+    }
+
     @Override
     public List<Entity> getEntities() {
         return (List<Entity>)(List<?>) this.drops;
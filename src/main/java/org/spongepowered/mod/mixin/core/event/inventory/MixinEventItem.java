@@ -47,6 +47,8 @@
 import org.spongepowered.asm.mixin.injection.At;
 import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.mod.event.SpongeModEventManager;
 import org.spongepowered.mod.mixin.core.event.entity.MixinEventEntity;
 
 import java.util.ArrayList;
@@ -65,20 +67,28 @@ public abstract class MixinEventItem extends MixinEventEntity implements AffectE
     @Shadow @Final public EntityItem entityItem;
 
     @Inject(method = "<init>", at = @At("RETURN"))
-    public void onConstructed(EntityItem itemEntity, CallbackInfo ci) {
-        this.entitySnapshot = ((Entity) itemEntity).createSnapshot();
-        this.entities = new ArrayList<>();
-        this.entities.add((Entity) itemEntity);
-        this.entitySnapshots = ImmutableList.of(this.entitySnapshot);
+    private void onConstructItemEvent(CallbackInfo callbackInfo) {
+        // Plugin listeners must see the item as it was before Forge listeners ran
+        if (!this.entityItem.worldObj.isRemote && ((SpongeModEventManager) SpongeImpl.getGame().getEventManager()).hasListeners(this)) {
+            getEntitySnapshots();
+        }
     }
 
     @Override
     public List<Entity> getEntities() {
+        if (this.entities == null) {
+            this.entities = new ArrayList<>();
+            this.entities.add((Entity) this.entityItem);
+        }
         return this.entities;
     }
 
     @Override
     public List<EntitySnapshot> getEntitySnapshots() {
+        if (this.entitySnapshots == null) {
+            this.entitySnapshot = ((Entity) this.entityItem).createSnapshot();
+            this.entitySnapshots = ImmutableList.of(this.entitySnapshot);
+        }
         return this.entitySnapshots;
     }
 
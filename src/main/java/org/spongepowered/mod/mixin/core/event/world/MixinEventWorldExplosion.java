@@ -25,6 +25,7 @@
 package org.spongepowered.mod.mixin.core.event.world;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Sets;
 import net.minecraft.block.state.IBlockState;
 import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.BlockPos;
@@ -55,6 +56,7 @@
 
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import java.util.function.Predicate;
 
 @Mixin(value = net.minecraftforge.event.world.ExplosionEvent.class, remap = false)
@@ -108,19 +110,20 @@ static abstract class Detonate extends MixinEventWorldExplosion implements Explo
 
         private ImmutableList<EntitySnapshot> entitySnapshots;
         private ImmutableList<Transaction<BlockSnapshot>> blockTransactions;
+        // Forge listeners change the explosion's list in place, transactions
+        // are built from the positions as they were when the event was created
+        private ImmutableList<BlockPos> originalPositions;
 
         @Shadow @Final private List<net.minecraft.entity.Entity> entityList;
 
         @Inject(method = "<init>", at = @At("RETURN"))
-        public void onConstructed(net.minecraft.world.World world, net.minecraft.world.Explosion explosion, List<Entity> entityList, CallbackInfo ci) {
-            createSpongeData();
+        private void onConstructDetonate(CallbackInfo callbackInfo) {
+            this.originalPositions = ImmutableList.copyOf(this.explosion.getAffectedBlockPositions());
         }
 
-        @SuppressWarnings("unchecked")
         public void createSpongeData() {
-            List<BlockPos> affectedPositions = this.explosion.getAffectedBlockPositions();
             ImmutableList.Builder<Transaction<BlockSnapshot>> builder = new ImmutableList.Builder<>();
-            for (BlockPos pos : affectedPositions) {
+            for (BlockPos pos : this.originalPositions) {
                 Location<World> location = new Location<>((World) this.world, VecHelper.toVector(pos));
                 BlockSnapshot originalSnapshot = ((IMixinBlockSnapshot) net.minecraftforge.common.util.BlockSnapshot.getBlockSnapshot(this.world, pos)).createSpongeBlockSnapshot();
                 final SpongeBlockSnapshotBuilder replacementBuilder = new SpongeBlockSnapshotBuilder()
@@ -135,6 +138,10 @@ public void createSpongeData() {
 
         @Override
         public ImmutableList<Transaction<BlockSnapshot>> getTransactions() {
+            // Affected blocks are still in place until the event has been handled
+            if (this.blockTransactions == null) {
+                createSpongeData();
+            }
             return this.blockTransactions;
         }
 
@@ -148,7 +155,7 @@ public List<Transaction<BlockSnapshot>> filter(Predicate<Location<World>> predic
                     transaction.setValid(false);
                 }
             }
-            return this.blockTransactions;
+            return getTransactions();
         }
 
         @Override
@@ -168,6 +175,10 @@ public void syncDataToForge(org.spongepowered.api.event.Event spongeEvent) {
             super.syncDataToForge(spongeEvent);
 
             ExplosionEvent.Detonate event = (ExplosionEvent.Detonate) spongeEvent;
+            if (event == this && this.blockTransactions == null) {
+                // No plugin looked at the transactions, so none were invalidated
+                return;
+            }
             List<BlockPos> affectedBlocks = this.explosion.getAffectedBlockPositions();
             affectedBlocks.clear();
 
@@ -186,15 +197,12 @@ public void syncDataToSponge(Event forgeEvent) {
             net.minecraftforge.event.world.ExplosionEvent event = (net.minecraftforge.event.world.ExplosionEvent) forgeEvent;
             // TODO - handle this better
             List<BlockPos> affectedBlocks = event.explosion.getAffectedBlockPositions();
-            for (Transaction<BlockSnapshot> transaction : this.blockTransactions) {
-                BlockPos pos = VecHelper.toBlockPos(transaction.getFinal().getPosition());
-                boolean match = false;
-                for (BlockPos forgePos : affectedBlocks) {
-                    if (forgePos.getX() == pos.getX() && forgePos.getY() == pos.getY() && forgePos.getZ() == pos.getZ()) {
-                        match = true;
-                    }
-                }
-                if (!match) {
+            if (this.blockTransactions == null && affectedBlocks.equals(this.originalPositions)) {
+                return;
+            }
+            Set<BlockPos> remainingBlocks = Sets.newHashSet(affectedBlocks);
+            for (Transaction<BlockSnapshot> transaction : getTransactions()) {
+                if (!remainingBlocks.contains(VecHelper.toBlockPos(transaction.getFinal().getPosition()))) {
                     transaction.setValid(false);
                 }
             }
@@ -24,7 +24,6 @@
  */
 package org.spongepowered.mod.mixin.core.fml.common.eventhandler;
 
-import com.google.common.base.Throwables;
 import net.minecraftforge.event.entity.item.ItemTossEvent;
 import net.minecraftforge.event.entity.player.AttackEntityEvent;
 import net.minecraftforge.event.world.BlockEvent;
@@ -74,20 +73,15 @@ public boolean post(Event event, boolean forgeOnly) {
 
             return cancelled;
         } else {
-            listeners = event.getListenerList().getListeners(this.busID);
-            int index = 0;
-            try {
-                for (; index < listeners.length; index++) {
-                    listeners[index].invoke(event);
-                }
-            } catch (Throwable throwable) {
-                this.exceptionHandler.handleException(this.eventBus, event, listeners, index, throwable);
-                Throwables.propagate(throwable);
-            }
-            return (event.isCancelable() ? event.isCanceled() : false);
+            return post(event, listeners);
         }
     }
 
+    @Override
+    public boolean post(Event event, IEventListener[] listeners) {
+        return SpongeModEventManager.postForge(event, listeners, this.eventBus, this.exceptionHandler);
+    }
+
     @Override
     public int getBusID() {
         return this.busID;
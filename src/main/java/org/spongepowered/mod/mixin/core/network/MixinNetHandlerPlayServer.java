@@ -52,14 +52,18 @@
 import org.spongepowered.asm.mixin.injection.Redirect;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
+import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.interfaces.IMixinInitCause;
 import org.spongepowered.common.util.StaticMixinHelper;
 import org.spongepowered.mod.event.SpongeForgeEventFactory;
+import org.spongepowered.mod.event.SpongeModEventManager;
 import org.spongepowered.mod.interfaces.IMixinEventPlayerChat;
 import org.spongepowered.mod.interfaces.IMixinNetPlayHandler;
 import org.spongepowered.mod.util.StaticMixinForgeHelper;
 
 import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
 
 @Mixin(value = NetHandlerPlayServer.class, priority = 1001)
 public abstract class MixinNetHandlerPlayServer implements IMixinNetPlayHandler {
@@ -76,6 +80,8 @@ public abstract class MixinNetHandlerPlayServer implements IMixinNetPlayHandler
     @Shadow private boolean hasMoved;
 
     private final Set<String> registeredChannels = Sets.newHashSet();
+    // Completes once the last chat message of the player was sent, so messages are sent in the order they were received
+    private CompletableFuture<Void> lastChatMessage = CompletableFuture.completedFuture(null);
 
     @Shadow public abstract void sendPacket(final Packet packetIn);
     @Shadow public abstract void kickPlayerFromServer(String message);
@@ -89,19 +95,31 @@ public void injectChatEvent(C01PacketChatMessage packetIn, CallbackInfo ci, Stri
         ((IMixinInitCause) event).initCause(Cause.of(NamedCause.source(this.playerEntity)));
         ((IMixinEventPlayerChat) event).setRawMessage(Text.of(packetIn.getMessage()));
 
-        if (!MinecraftForge.EVENT_BUS.post(event)) {
-            MessageChannelEvent spongeEvent = (MessageChannelEvent) event;
-            spongeEvent.getMessage().ifPresent(text -> spongeEvent.getChannel().ifPresent(channel -> channel.send(text)));
+        ci.cancel();
 
-            // Chat spam suppression from MC
-            this.chatSpamThresholdCount += 20;
-            if (this.chatSpamThresholdCount > 200 && !MinecraftServer.getServer().getConfigurationManager()
-                    .canSendCommands(this.playerEntity.getGameProfile())) {
-                this.kickPlayerFromServer("disconnect.spam");
-            }
+        // Chat spam suppression from MC, counted up front so that spam can't outpace async listeners
+        this.chatSpamThresholdCount += 20;
+        if (this.chatSpamThresholdCount > 200 && !MinecraftServer.getServer().getConfigurationManager()
+                .canSendCommands(this.playerEntity.getGameProfile())) {
+            this.kickPlayerFromServer("disconnect.spam");
+            return;
         }
 
-        ci.cancel();
+        // Async chat listeners run off the server thread, the message is sent once the event completes on it
+        final CompletableFuture<Boolean> posted =
+                ((SpongeModEventManager) SpongeImpl.getGame().getEventManager()).postAsync(event, MinecraftForge.EVENT_BUS);
+        this.lastChatMessage = this.lastChatMessage.thenCompose(previous -> posted).thenAccept(cancelled -> {
+            if (!cancelled) {
+                MessageChannelEvent spongeEvent = (MessageChannelEvent) event;
+                spongeEvent.getMessage().ifPresent(text -> spongeEvent.getChannel().ifPresent(channel -> channel.send(text)));
+            }
+        }).exceptionally(throwable -> {
+            // A cancelled post means the server stopped before the message could be sent
+            if (!(throwable.getCause() instanceof CancellationException)) {
+                logger.error("Could not send the chat message of {}", this.playerEntity.getName(), throwable);
+            }
+            return null;
+        });
     }
 
     @Redirect(method = "processPlayerBlockPlacement", at = @At(value = "INVOKE", target = ACTIVATE_BLOCK_OR_USE_ITEM))
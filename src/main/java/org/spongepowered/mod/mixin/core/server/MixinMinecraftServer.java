@@ -29,17 +29,19 @@
 import org.spongepowered.api.world.ChunkTicketManager;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.mod.interfaces.IMixinMinecraftServer;
 import org.spongepowered.mod.service.world.SpongeChunkTicketManager;
 
 import java.util.Hashtable;
 
 @Mixin(value = MinecraftServer.class, priority = 1001, remap = false)
-public abstract class MixinMinecraftServer implements Server {
+public abstract class MixinMinecraftServer implements Server, IMixinMinecraftServer {
 
     public ChunkTicketManager chunkTicketManager = new SpongeChunkTicketManager();
 
     @Shadow public Hashtable<Integer, long[]> worldTickTimes = new Hashtable<>();
 
+    @Override
     public Hashtable<Integer, long[]> getWorldTickTimes() {
         return this.worldTickTimes;
     }
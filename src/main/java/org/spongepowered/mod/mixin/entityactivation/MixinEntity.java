@@ -35,15 +35,17 @@
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 import org.spongepowered.common.entity.SpongeEntityType;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.mod.interfaces.IMixinEntityActivation;
 import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationRange;
 
 @NonnullByDefault
 @Mixin(net.minecraft.entity.Entity.class)
-public abstract class MixinEntity implements Entity, IMixinEntity {
+public abstract class MixinEntity implements Entity, IMixinEntity, IMixinEntityActivation {
 
     public final byte activationType = ActivationRange.initializeEntityActivationType((net.minecraft.entity.Entity) (Object) this);
     public boolean defaultActivationState;
     public long activatedTick = Integer.MIN_VALUE;
+    private int activationTypeIndex = -1;
     private EntityType entityType;
 
     @Shadow
@@ -51,6 +53,10 @@ public abstract class MixinEntity implements Entity, IMixinEntity {
 
     @Inject(method = "<init>", at = @At("RETURN"))
     public void onEntityConstruction(World world, CallbackInfo ci) {
+        if (this.entityType != null) {
+            this.activationTypeIndex = ActivationRange.getActivationTypeIndex((net.minecraft.entity.Entity) (Object) this,
+                    (SpongeEntityType) this.entityType);
+        }
         if (world != null) {
             this.defaultActivationState = ActivationRange.initializeEntityActivationState((net.minecraft.entity.Entity) (Object) this);
             if (!this.defaultActivationState && this.entityType != null) { // if not excluded
@@ -70,6 +76,11 @@ public byte getActivationType() {
         return this.activationType;
     }
 
+    @Override
+    public int getActivationTypeIndex() {
+        return this.activationTypeIndex;
+    }
+
     @Override
     public long getActivatedTick() {
         return this.activatedTick;
@@ -36,22 +36,28 @@
 import org.spongepowered.asm.mixin.injection.callback.LocalCapture;
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
+import org.spongepowered.mod.interfaces.IMixinWorldActivation;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationContext;
 import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationRange;
 
 @NonnullByDefault
 @Mixin(net.minecraft.world.World.class)
-public abstract class MixinWorld implements World, IMixinWorld {
+public abstract class MixinWorld implements World, IMixinWorld, IMixinWorldActivation {
 
     @Shadow @Final public Profiler theProfiler;
 
     @Shadow public abstract boolean isAreaLoaded(int xStart, int yStart, int zStart, int xEnd, int yEnd, int zEnd, boolean allowEmpty);
     @Shadow public abstract boolean isChunkLoaded(int x, int z, boolean allowEmpty);
 
+    private final ActivationContext activationContext = new ActivationContext((net.minecraft.world.World) (Object) this);
+
     @Inject(method = "updateEntities()V", at = @At(value = "INVOKE_STRING",
             target = "Lnet/minecraft/profiler/Profiler;endStartSection(Ljava/lang/String;)V", args = {"ldc=regular"}))
     private void onInvokeProfiler(CallbackInfo ci) {
         if (!((net.minecraft.world.World) (Object) this).isRemote) {
+            this.theProfiler.startSection("entityActivation");
             ActivationRange.activateEntities(((net.minecraft.world.World) (Object) this));
+            this.theProfiler.endSection();
         }
     }
 
@@ -67,4 +73,9 @@ public void onUpdateEntityWithOptionalForce(net.minecraft.entity.Entity entity,
         }
     }
 
+    @Override
+    public ActivationContext getActivationContext() {
+        return this.activationContext;
+    }
+
 }
@@ -0,0 +1,79 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import net.minecraft.entity.boss.EntityDragon;
+import net.minecraft.entity.boss.EntityDragonPart;
+import net.minecraft.entity.boss.EntityWither;
+import net.minecraft.entity.effect.EntityWeatherEffect;
+import net.minecraft.entity.item.EntityEnderCrystal;
+import net.minecraft.entity.item.EntityFireworkRocket;
+import net.minecraft.entity.item.EntityTNTPrimed;
+import net.minecraft.entity.player.EntityPlayer;
+import net.minecraft.entity.projectile.EntityFireball;
+import net.minecraft.entity.projectile.EntityThrowable;
+import net.minecraftforge.common.util.FakePlayer;
+
+/**
+ * Memoizes the activation classification of a concrete entity class, so
+ * that constructing an entity only costs a single lookup.
+ *
+ * <p>None of the cached values depend on the config. Whether a whole
+ * activation group is disabled is read from the {@link ActivationPolicy} of
+ * the world instead, which is recompiled whenever the config changes.</p>
+ */
+final class ActivationClassCache {
+
+    private static final ClassValue<ActivationClassCache> cache = new ClassValue<ActivationClassCache>() {
+
+        @Override
+        protected ActivationClassCache computeValue(Class<?> type) {
+            return new ActivationClassCache(type);
+        }
+    };
+
+    final boolean alwaysActive;
+    // Both are resolved from the first instance of the class, as the
+    // classification calls instance methods
+    volatile byte activationType;
+    volatile int typeIndex = -1;
+
+    private ActivationClassCache(Class<?> type) {
+        this.alwaysActive = (EntityPlayer.class.isAssignableFrom(type) && !FakePlayer.class.isAssignableFrom(type))
+                || EntityThrowable.class.isAssignableFrom(type)
+                || EntityDragon.class.isAssignableFrom(type)
+                || EntityDragonPart.class.isAssignableFrom(type)
+                || EntityWither.class.isAssignableFrom(type)
+                || EntityFireball.class.isAssignableFrom(type)
+                || EntityWeatherEffect.class.isAssignableFrom(type)
+                || EntityTNTPrimed.class.isAssignableFrom(type)
+                || EntityEnderCrystal.class.isAssignableFrom(type)
+                || EntityFireworkRocket.class.isAssignableFrom(type);
+    }
+
+    static ActivationClassCache get(Class<?> type) {
+        return cache.get(type);
+    }
+}
@@ -0,0 +1,137 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.entity.SpongeEntityType;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Queue;
+import java.util.Set;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Collects entity types that still need to be written to the activation range
+ * section of the configs, and writes them in batches.
+ *
+ * <p>Types are discovered while entities are being constructed, so writing
+ * them out directly would stall the tick on file I/O the first time every
+ * modded entity type spawns. Instead, all types discovered within a few
+ * seconds are written and saved together by a single task on the server
+ * thread. Saving serializes the whole node tree, which the server thread
+ * reads without locking, so it can't be done on another thread.</p>
+ */
+public final class ActivationConfigQueue {
+
+    private static final long FLUSH_DELAY = 5;
+
+    private static final Queue<Registration> pending = new ConcurrentLinkedQueue<>();
+    private static final AtomicBoolean flushScheduled = new AtomicBoolean();
+
+    private ActivationConfigQueue() {
+    }
+
+    /**
+     * Queues an entity type to be added to the given configs. The queue is
+     * flushed a few seconds after the first pending entry, so types
+     * discovered together are saved together.
+     *
+     * @param configs The configs to add the type to
+     * @param type The entity type
+     * @param activationType The activation group of the type
+     */
+    public static void enqueue(List<SpongeConfig<?>> configs, SpongeEntityType type, byte activationType) {
+        pending.add(new Registration(configs, type, ActivationPolicy.getActivationTypeName(activationType)));
+        if (flushScheduled.compareAndSet(false, true)) {
+            SpongeImpl.getGame().getScheduler().createTaskBuilder()
+                    .delay(FLUSH_DELAY, TimeUnit.SECONDS)
+                    .name("Sponge - Entity activation config flush")
+                    .execute(ActivationConfigQueue::flush)
+                    .submit(SpongeImpl.getPlugin().getInstance().get());
+        }
+    }
+
+    /**
+     * Writes all pending entity types to their configs and saves each
+     * modified config once. Must be called on the server thread.
+     */
+    public static void flush() {
+        save(apply());
+    }
+
+    private static Set<SpongeConfig<?>> apply() {
+        flushScheduled.set(false);
+        Set<SpongeConfig<?>> modified = Collections.newSetFromMap(new IdentityHashMap<>());
+        Registration registration;
+        while ((registration = pending.poll()) != null) {
+            for (SpongeConfig<?> config : registration.configs) {
+                // TODO
+                if (config == null) continue;
+                if (registration.apply(config)) {
+                    modified.add(config);
+                }
+            }
+        }
+        return modified;
+    }
+
+    private static void save(Set<SpongeConfig<?>> configs) {
+        for (SpongeConfig<?> config : configs) {
+            config.save();
+        }
+    }
+
+    private static final class Registration {
+
+        final List<SpongeConfig<?>> configs;
+        final SpongeEntityType type;
+        final String activationType;
+
+        Registration(List<SpongeConfig<?>> configs, SpongeEntityType type, String activationType) {
+            this.configs = configs;
+            this.type = type;
+            this.activationType = activationType;
+        }
+
+        boolean apply(SpongeConfig<?> config) {
+            if (config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, this.type.getModId()).isVirtual()) {
+                config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, this.type.getModId(), "enabled").setValue(true);
+            }
+
+            if (config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, this.type.getModId(), this.activationType,
+                    this.type.getName()).isVirtual()) {
+                config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, this.type.getModId(), this.activationType,
+                        this.type.getName()).setValue(true);
+                return true;
+            }
+            return false;
+        }
+    }
+}
@@ -0,0 +1,391 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import com.google.common.collect.Sets;
+import net.minecraft.entity.Entity;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.util.AxisAlignedBB;
+import net.minecraft.util.MathHelper;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.chunk.Chunk;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.entity.SpongeEntityType;
+import org.spongepowered.common.interfaces.entity.IMixinEntity;
+import org.spongepowered.mod.interfaces.IMixinEntityActivation;
+import org.spongepowered.mod.interfaces.IMixinMinecraftServer;
+
+import java.util.Arrays;
+import java.util.Set;
+
+/**
+ * Holds the entity activation state of a single world.
+ *
+ * <p>Everything an activation pass touches is owned by the context of the
+ * world it runs for, so the passes of different worlds can be computed
+ * concurrently. A pass only reads the chunk entity lists of its world and
+ * writes the activated tick of the entities in it.</p>
+ */
+public final class ActivationContext {
+
+    private static final int PLAYER_BOUNDS_STRIDE = 6;
+    private static final int ADAPT_INTERVAL = 20;
+    private static final float RANGE_SCALE_STEP = 0.1F;
+
+    private final World world;
+    private ActivationPolicy policy;
+    private long lastActivationTick = Long.MIN_VALUE;
+    private final long[] immunityHits = new long[ImmunityRule.values().length];
+    private final Set<SpongeEntityType> registeredTypes = Sets.newConcurrentHashSet();
+    private final ActivationMetrics metrics = new ActivationMetrics();
+
+    // Activation ranges after adapting them to the tick budget of the world
+    private ActivationPolicy scaledPolicy;
+    private float rangeScale = 1.0F;
+    private final int[] effectiveRanges = new int[ActivationPolicy.MISC + 1];
+    private int maxEffectiveRange;
+
+    // Scratch buffers reused by every activation pass
+    private long[] chunkKeys = new long[256];
+    private double[] playerBounds = new double[PLAYER_BOUNDS_STRIDE * 8];
+    private int[] nearbyPlayers = new int[8];
+
+    public ActivationContext(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Gets the compiled activation policy of the world. The policy is checked
+     * against the active config at the start of every activation pass.
+     *
+     * @return The activation policy
+     */
+    public ActivationPolicy getPolicy() {
+        if (this.policy == null) {
+            return refreshPolicy();
+        }
+        return this.policy;
+    }
+
+    /**
+     * Recompiles the activation policy of the world if the active config has
+     * changed since it was last built.
+     *
+     * @return The activation policy
+     */
+    public ActivationPolicy refreshPolicy() {
+        final SpongeConfig<?> config = ActivationRange.getActiveConfig(this.world);
+        if (this.policy == null || !this.policy.isCurrent(config)) {
+            this.policy = ActivationPolicy.compile(config);
+        }
+        return this.policy;
+    }
+
+    public ActivationMetrics getMetrics() {
+        return this.metrics;
+    }
+
+    /**
+     * Marks an entity type as added to the configs of this world.
+     *
+     * @param type The entity type
+     * @return True if the type was not marked before
+     */
+    public boolean markRegistered(SpongeEntityType type) {
+        return this.registeredTypes.add(type);
+    }
+
+    /**
+     * Checks whether any of the immunity rules enabled in this world applies
+     * to the given entity, counting the rule that matched.
+     *
+     * @param entity The entity to check
+     * @return Whether the entity should be kept active
+     */
+    public boolean checkImmunities(Entity entity) {
+        for (ImmunityRule rule : getPolicy().getImmunityRules()) {
+            if (rule.test(entity)) {
+                this.immunityHits[rule.ordinal()]++;
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Gets how many times the given immunity rule kept an entity of this
+     * world active.
+     *
+     * @param rule The immunity rule
+     * @return The amount of hits
+     */
+    public long getImmunityHits(ImmunityRule rule) {
+        return this.immunityHits[rule.ordinal()];
+    }
+
+    /**
+     * Resets the activation metrics and immunity hits of this world.
+     */
+    public void resetMetrics() {
+        this.metrics.reset();
+        Arrays.fill(this.immunityHits, 0);
+    }
+
+    /**
+     * Gets the factor the monster, creature and misc activation ranges are
+     * currently scaled by to stay within the tick budget of the world.
+     *
+     * @return The range scale
+     */
+    public float getRangeScale() {
+        return this.rangeScale;
+    }
+
+    /**
+     * Gets the activation range currently applied to an activation group,
+     * after adapting it to the tick budget of the world.
+     *
+     * @param activationType The activation group
+     * @return The effective activation range
+     */
+    public int getEffectiveActivationRange(byte activationType) {
+        if (this.scaledPolicy == null) {
+            updateEffectiveRanges(getPolicy());
+        }
+        if (activationType < 0 || activationType >= this.effectiveRanges.length) {
+            return this.effectiveRanges[ActivationPolicy.MISC];
+        }
+        return this.effectiveRanges[activationType];
+    }
+
+    /**
+     * Shrinks or grows the activation ranges depending on the average tick
+     * time of the world over the last 100 ticks. Ranges are only grown back
+     * once the tick time is well below the budget, so they do not flap
+     * around it.
+     *
+     * @param policy The activation policy of the world
+     * @param currentTick The world tick
+     */
+    private void adaptRanges(ActivationPolicy policy, long currentTick) {
+        float scale = this.rangeScale;
+        if (policy.getTickBudget() <= 0) {
+            scale = 1.0F;
+        } else if (currentTick % ADAPT_INTERVAL == 0) {
+            long[] tickTimes = ((IMixinMinecraftServer) MinecraftServer.getServer()).getWorldTickTimes().get(this.world.provider.getDimensionId());
+            if (tickTimes != null && tickTimes.length > 0) {
+                long total = 0;
+                for (long tickTime : tickTimes) {
+                    total += tickTime;
+                }
+                double averageTickTime = total / (double) tickTimes.length * 1.0E-6D;
+                if (averageTickTime > policy.getTickBudget()) {
+                    scale = Math.max(policy.getMinRangeScale(), scale - RANGE_SCALE_STEP);
+                } else if (averageTickTime < policy.getTickBudget() * policy.getRecoveryRatio()) {
+                    scale = Math.min(1.0F, scale + RANGE_SCALE_STEP);
+                }
+            }
+        }
+
+        if (scale != this.rangeScale || policy != this.scaledPolicy) {
+            this.rangeScale = scale;
+            updateEffectiveRanges(policy);
+        }
+    }
+
+    private void updateEffectiveRanges(ActivationPolicy policy) {
+        int maxRange = 0;
+        for (byte type = 0; type < this.effectiveRanges.length; type++) {
+            int range = policy.getActivationRange(type);
+            if (type == ActivationPolicy.MONSTER || type == ActivationPolicy.CREATURE || type == ActivationPolicy.MISC || type == 0) {
+                range = (int) (range * this.rangeScale);
+            }
+            this.effectiveRanges[type] = range;
+            maxRange = Math.max(maxRange, range);
+        }
+        this.maxEffectiveRange = Math.min(ActivationPolicy.MAX_ACTIVATION_RANGE, maxRange);
+        this.scaledPolicy = policy;
+    }
+
+    /**
+     * Gets the world tick the last activation pass was computed for.
+     *
+     * @return The tick of the last pass
+     */
+    public long getLastActivationTick() {
+        return this.lastActivationTick;
+    }
+
+    /**
+     * Find what entities are in range of the players in the world and mark
+     * them active for the given tick. Does nothing if a pass was already
+     * computed for that tick.
+     *
+     * <p>The activation ranges of all players are first unioned into a set of
+     * chunks, so that every chunk and its entities are visited exactly once
+     * per tick no matter how many players overlap it.</p>
+     *
+     * @param currentTick The world tick to activate entities for
+     */
+    public void activateEntities(long currentTick) {
+        if (currentTick == this.lastActivationTick) {
+            return;
+        }
+        activateEntities(currentTick, refreshPolicy());
+    }
+
+    /**
+     * Same as {@link #activateEntities(long)} with a policy that was already
+     * refreshed. This doesn't read any config, so it is safe to call off the
+     * server thread.
+     *
+     * @param currentTick The world tick to activate entities for
+     * @param policy The activation policy of the world
+     */
+    public void activateEntities(long currentTick, ActivationPolicy policy) {
+        if (currentTick == this.lastActivationTick) {
+            return;
+        }
+        this.lastActivationTick = currentTick;
+
+        adaptRanges(policy, currentTick);
+        final int maxRange = this.maxEffectiveRange;
+        final int playerCount = this.world.playerEntities.size();
+        if (playerCount == 0) {
+            return;
+        }
+
+        if (this.playerBounds.length < playerCount * PLAYER_BOUNDS_STRIDE) {
+            this.playerBounds = new double[playerCount * PLAYER_BOUNDS_STRIDE];
+            this.nearbyPlayers = new int[playerCount];
+        }
+
+        int chunkCount = 0;
+        for (int p = 0; p < playerCount; p++) {
+            Entity player = (Entity) this.world.playerEntities.get(p);
+            ((IMixinEntity) player).setActivatedTick(currentTick);
+            AxisAlignedBB bb = player.getEntityBoundingBox();
+            int offset = p * PLAYER_BOUNDS_STRIDE;
+            this.playerBounds[offset] = bb.minX;
+            this.playerBounds[offset + 1] = bb.minY;
+            this.playerBounds[offset + 2] = bb.minZ;
+            this.playerBounds[offset + 3] = bb.maxX;
+            this.playerBounds[offset + 4] = bb.maxY;
+            this.playerBounds[offset + 5] = bb.maxZ;
+
+            int i = MathHelper.floor_double((bb.minX - maxRange) / 16.0D);
+            int j = MathHelper.floor_double((bb.maxX + maxRange) / 16.0D);
+            int k = MathHelper.floor_double((bb.minZ - maxRange) / 16.0D);
+            int l = MathHelper.floor_double((bb.maxZ + maxRange) / 16.0D);
+
+            int required = chunkCount + (j - i + 1) * (l - k + 1);
+            if (this.chunkKeys.length < required) {
+                this.chunkKeys = Arrays.copyOf(this.chunkKeys, Math.max(required, this.chunkKeys.length * 2));
+            }
+            for (int i1 = i; i1 <= j; ++i1) {
+                for (int j1 = k; j1 <= l; ++j1) {
+                    this.chunkKeys[chunkCount++] = ChunkCoordIntPair.chunkXZ2Int(i1, j1);
+                }
+            }
+        }
+
+        Arrays.sort(this.chunkKeys, 0, chunkCount);
+        WorldServer worldserver = (WorldServer) this.world;
+        for (int c = 0; c < chunkCount; c++) {
+            final long key = this.chunkKeys[c];
+            if (c > 0 && key == this.chunkKeys[c - 1]) {
+                continue;
+            }
+            final int chunkX = (int) key;
+            final int chunkZ = (int) (key >> 32);
+            if (!worldserver.theChunkProviderServer.chunkExists(chunkX, chunkZ)) {
+                continue;
+            }
+
+            // Only players whose maximum range reaches this chunk need to be tested
+            final double chunkMinX = chunkX << 4;
+            final double chunkMinZ = chunkZ << 4;
+            int nearbyCount = 0;
+            for (int p = 0; p < playerCount; p++) {
+                int offset = p * PLAYER_BOUNDS_STRIDE;
+                if (this.playerBounds[offset] - maxRange < chunkMinX + 16 && this.playerBounds[offset + 3] + maxRange > chunkMinX
+                        && this.playerBounds[offset + 2] - maxRange < chunkMinZ + 16 && this.playerBounds[offset + 5] + maxRange > chunkMinZ) {
+                    this.nearbyPlayers[nearbyCount++] = p;
+                }
+            }
+            activateChunkEntities(this.world.getChunkFromChunkCoords(chunkX, chunkZ), policy, currentTick, nearbyCount);
+        }
+    }
+
+    /**
+     * Checks for the activation state of all entities in this chunk.
+     *
+     * @param chunk Chunk to check for activation
+     * @param policy The compiled activation policy of the world
+     * @param currentTick The world tick to activate entities for
+     * @param nearbyCount The amount of players in range of the chunk
+     */
+    private void activateChunkEntities(Chunk chunk, ActivationPolicy policy, long currentTick, int nearbyCount) {
+        for (int i = 0; i < chunk.getEntityLists().length; ++i) {
+
+            for (Object o : chunk.getEntityLists()[i]) {
+                Entity entity = (Entity) o;
+                IMixinEntity spongeEntity = (IMixinEntity) entity;
+                if (currentTick > spongeEntity.getActivatedTick()) {
+                    final int typeIndex = ((IMixinEntityActivation) entity).getActivationTypeIndex();
+                    if (spongeEntity.getDefaultActivationState() || !policy.isActivationEnabled(typeIndex)) {
+                        spongeEntity.setActivatedTick(currentTick);
+                        continue;
+                    }
+                    final int range = getEffectiveActivationRange(policy.getActivationType(typeIndex, spongeEntity.getActivationType()));
+                    final AxisAlignedBB bb = entity.getEntityBoundingBox();
+                    for (int p = 0; p < nearbyCount; p++) {
+                        if (isInRange(bb, this.nearbyPlayers[p] * PLAYER_BOUNDS_STRIDE, range)) {
+                            spongeEntity.setActivatedTick(currentTick);
+                            break;
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Checks whether a bounding box intersects the bounding box of a player
+     * grown by the given activation range.
+     *
+     * @param bb The bounding box to check
+     * @param offset The offset of the player in the player bounds buffer
+     * @param range The activation range
+     * @return Whether the bounding box is in range
+     */
+    private boolean isInRange(AxisAlignedBB bb, int offset, int range) {
+        return bb.maxX > this.playerBounds[offset] - range && bb.minX < this.playerBounds[offset + 3] + range
+                && bb.maxY > this.playerBounds[offset + 1] - 256 && bb.minY < this.playerBounds[offset + 4] + 256
+                && bb.maxZ > this.playerBounds[offset + 2] - range && bb.minZ < this.playerBounds[offset + 5] + range;
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import java.util.Arrays;
+
+/**
+ * Counts the outcome of the activation checks of a world, broken down by
+ * entity type.
+ *
+ * <p>Counters are stored in a single flat array addressed by the dense entity
+ * type index, with an extra slot for entities without a known type. They are
+ * only updated from the server thread.</p>
+ */
+public final class ActivationMetrics {
+
+    public enum Counter {
+        ACTIVE_TICKS("active-ticks"),
+        INACTIVE_TICKS("inactive-ticks"),
+        IMMUNITY_WAKEUPS("immunity-wakeups"),
+        UNLOADED_SKIPS("unloaded-skips"),
+        THROTTLED_SKIPS("throttled-skips");
+
+        private final String id;
+
+        Counter(String id) {
+            this.id = id;
+        }
+
+        public String getId() {
+            return this.id;
+        }
+    }
+
+    private static final int COUNTERS = Counter.values().length;
+
+    private long[] counts = new long[64 * COUNTERS];
+
+    public void increment(Counter counter, int typeIndex) {
+        final int offset = (typeIndex + 1) * COUNTERS + counter.ordinal();
+        if (offset >= this.counts.length) {
+            this.counts = Arrays.copyOf(this.counts, Math.max((typeIndex + 2) * COUNTERS, this.counts.length * 2));
+        }
+        this.counts[offset]++;
+    }
+
+    /**
+     * Gets the value of a counter for an entity type.
+     *
+     * @param counter The counter
+     * @param typeIndex The index of the entity type, or -1 for entities
+     *     without a known type
+     * @return The value of the counter
+     */
+    public long get(Counter counter, int typeIndex) {
+        final int offset = (typeIndex + 1) * COUNTERS + counter.ordinal();
+        return offset < this.counts.length ? this.counts[offset] : 0;
+    }
+
+    public long getTotal(Counter counter) {
+        long total = 0;
+        for (int offset = counter.ordinal(); offset < this.counts.length; offset += COUNTERS) {
+            total += this.counts[offset];
+        }
+        return total;
+    }
+
+    /**
+     * Gets the amount of entity types counters may have been recorded for,
+     * which are the types with an index below it.
+     *
+     * @return The amount of entity types
+     */
+    public int getTypeCount() {
+        return this.counts.length / COUNTERS - 1;
+    }
+
+    public void reset() {
+        Arrays.fill(this.counts, 0);
+    }
+}
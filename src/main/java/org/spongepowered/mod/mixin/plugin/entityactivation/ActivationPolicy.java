@@ -0,0 +1,362 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import com.google.common.collect.ImmutableList;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.common.entity.SpongeEntityType;
+
+import java.util.ArrayList;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Map;
+
+import javax.annotation.Nullable;
+
+/**
+ * An immutable snapshot of the entity activation range settings of a world.
+ *
+ * <p>Entity types are addressed by a dense index handed out by
+ * {@link #getTypeIndex(SpongeEntityType, byte)}, so that the per-entity
+ * checks done every tick only read primitive arrays instead of walking the
+ * configuration nodes. A policy is compiled from the active config of a
+ * world and only rebuilt once that config is reloaded or a new entity type
+ * is discovered.</p>
+ */
+public final class ActivationPolicy {
+
+    public static final byte MONSTER = 1;
+    public static final byte CREATURE = 2;
+    public static final byte AQUATIC = 3;
+    public static final byte AMBIENT = 4;
+    public static final byte MISC = 5;
+
+    public static final int MAX_ACTIVATION_RANGE = (6 << 4) - 8;
+
+    /**
+     * The config section holding the settings that apply to all entity types,
+     * kept apart from the per-mod nodes of the activation range module.
+     */
+    public static final String SETTINGS_SECTION = "entity-activation-settings";
+
+    private static final String[] ACTIVATION_TYPE_NAMES = {"misc", "monster", "creature", "aquatic", "ambient", "misc"};
+
+    private static final Map<SpongeEntityType, Integer> typeIndices = new IdentityHashMap<>();
+    private static final List<SpongeEntityType> types = new ArrayList<>();
+    private static final List<Byte> typeActivationTypes = new ArrayList<>();
+
+    private final SpongeConfig<?> config;
+    private final ConfigurationNode rootNode;
+    private final int[] activationRanges;
+    private final int maxActivationRange;
+    private final boolean[] enabled;
+    private final byte[] activationTypes;
+    private final int[] groupTickIntervals;
+    private final int[] tickIntervals;
+    private final ImmutableList<ImmunityRule> immunityRules;
+    private final double tickBudget;
+    private final double recoveryRatio;
+    private final float minRangeScale;
+    private final boolean parallelActivation;
+
+    private ActivationPolicy(SpongeConfig<?> config, int[] activationRanges, boolean[] enabled, byte[] activationTypes,
+            int[] groupTickIntervals, int[] tickIntervals, ImmutableList<ImmunityRule> immunityRules, ConfigurationNode adaptiveNode,
+            boolean parallelActivation) {
+        this.config = config;
+        this.rootNode = config.getRootNode();
+        this.activationRanges = activationRanges;
+        this.enabled = enabled;
+        this.activationTypes = activationTypes;
+        this.groupTickIntervals = groupTickIntervals;
+        this.tickIntervals = tickIntervals;
+        this.immunityRules = immunityRules;
+        this.tickBudget = adaptiveNode.getNode("tick-budget").getDouble(0);
+        this.recoveryRatio = Math.min(1.0D, adaptiveNode.getNode("recovery-ratio").getDouble(0.8D));
+        this.minRangeScale = Math.max(0.0F, Math.min(1.0F, adaptiveNode.getNode("min-range-scale").getFloat(0.25F)));
+        this.parallelActivation = parallelActivation;
+        int maxRange = 0;
+        for (int range : activationRanges) {
+            if (range > maxRange) {
+                maxRange = range;
+            }
+        }
+        this.maxActivationRange = Math.min(MAX_ACTIVATION_RANGE, maxRange);
+    }
+
+    /**
+     * Gets the dense index of an entity type, registering it if this is the
+     * first time the type is seen.
+     *
+     * @param type The entity type
+     * @param activationType The activation group of the type
+     * @return The index of the type
+     */
+    public static synchronized int getTypeIndex(SpongeEntityType type, byte activationType) {
+        checkNotNull(type, "type");
+        Integer index = typeIndices.get(type);
+        if (index == null) {
+            index = types.size();
+            typeIndices.put(type, index);
+            types.add(type);
+            typeActivationTypes.add(activationType);
+        }
+        return index;
+    }
+
+    /**
+     * Gets the entity type registered with the given index.
+     *
+     * @param typeIndex The index of the type
+     * @return The entity type, or null if no type has the index
+     */
+    @Nullable
+    public static synchronized SpongeEntityType getType(int typeIndex) {
+        if (typeIndex < 0 || typeIndex >= types.size()) {
+            return null;
+        }
+        return types.get(typeIndex);
+    }
+
+    public static synchronized int getRegisteredTypeCount() {
+        return types.size();
+    }
+
+    /**
+     * Gets the config node name used for an activation group.
+     *
+     * @param activationType The activation group
+     * @return The node name
+     */
+    public static String getActivationTypeName(byte activationType) {
+        if (activationType < 0 || activationType >= ACTIVATION_TYPE_NAMES.length) {
+            return ACTIVATION_TYPE_NAMES[MISC];
+        }
+        return ACTIVATION_TYPE_NAMES[activationType];
+    }
+
+    /**
+     * Compiles the activation settings of the given config against all entity
+     * types registered so far.
+     *
+     * @param config The active config of a world
+     * @return The compiled policy
+     */
+    public static ActivationPolicy compile(SpongeConfig<?> config) {
+        checkNotNull(config, "config");
+        final SpongeEntityType[] knownTypes;
+        final byte[] activationTypes;
+        synchronized (ActivationPolicy.class) {
+            knownTypes = types.toArray(new SpongeEntityType[types.size()]);
+            activationTypes = new byte[knownTypes.length];
+            for (int i = 0; i < activationTypes.length; i++) {
+                activationTypes[i] = typeActivationTypes.get(i);
+            }
+        }
+
+        SpongeConfig.EntityActivationRangeCategory category = config.getConfig().getEntityActivationRange();
+        int[] activationRanges = new int[ACTIVATION_TYPE_NAMES.length];
+        activationRanges[0] = category.getMiscActivationRange();
+        activationRanges[MONSTER] = category.getMonsterActivationRange();
+        activationRanges[CREATURE] = category.getCreatureActivationRange();
+        activationRanges[AQUATIC] = category.getAquaticActivationRange();
+        activationRanges[AMBIENT] = category.getAmbientActivationRange();
+        activationRanges[MISC] = category.getMiscActivationRange();
+
+        int[] groupTickIntervals = new int[ACTIVATION_TYPE_NAMES.length];
+        ConfigurationNode settingsNode = config.getRootNode().getNode(SETTINGS_SECTION);
+        ConfigurationNode intervalNode = settingsNode.getNode("tick-intervals");
+        for (byte activationType = 0; activationType < groupTickIntervals.length; activationType++) {
+            groupTickIntervals[activationType] = Math.max(1, intervalNode.getNode(getActivationTypeName(activationType)).getInt(1));
+        }
+
+        boolean[] enabled = new boolean[knownTypes.length];
+        int[] tickIntervals = new int[knownTypes.length];
+        for (int i = 0; i < knownTypes.length; i++) {
+            SpongeEntityType type = knownTypes[i];
+            ConfigurationNode modNode = config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId());
+            enabled[i] = activationRanges[activationTypes[i]] > 0
+                    && modNode.getNode("enabled").getBoolean(true)
+                    && modNode.getNode(getActivationTypeName(activationTypes[i]), type.getName()).getBoolean(true);
+            tickIntervals[i] = Math.max(1, modNode.getNode("tick-intervals", type.getName()).getInt(groupTickIntervals[activationTypes[i]]));
+        }
+
+        ImmutableList.Builder<ImmunityRule> immunityRules = ImmutableList.builder();
+        ConfigurationNode immunityNode = settingsNode.getNode("immunities");
+        for (ImmunityRule rule : ImmunityRule.values()) {
+            if (immunityNode.getNode(rule.getId()).getBoolean(true)) {
+                immunityRules.add(rule);
+            }
+        }
+
+        return new ActivationPolicy(config, activationRanges, enabled, activationTypes, groupTickIntervals, tickIntervals,
+                immunityRules.build(), settingsNode.getNode("adaptive"), settingsNode.getNode("parallel-activation").getBoolean(false));
+    }
+
+    /**
+     * Writes the default value of every setting in the
+     * {@link #SETTINGS_SECTION} that is missing from the given config, so
+     * that admins can find them.
+     *
+     * @param config The config to complete
+     * @return Whether the config was modified and needs to be saved
+     */
+    public static boolean writeDefaultSettings(SpongeConfig<?> config) {
+        final ConfigurationNode settingsNode = config.getRootNode().getNode(SETTINGS_SECTION);
+        boolean modified = false;
+        for (byte activationType = MONSTER; activationType < ACTIVATION_TYPE_NAMES.length; activationType++) {
+            modified |= setDefault(settingsNode.getNode("tick-intervals", getActivationTypeName(activationType)), 1);
+        }
+        for (ImmunityRule rule : ImmunityRule.values()) {
+            modified |= setDefault(settingsNode.getNode("immunities", rule.getId()), true);
+        }
+        modified |= setDefault(settingsNode.getNode("adaptive", "tick-budget"), 0.0D);
+        modified |= setDefault(settingsNode.getNode("adaptive", "recovery-ratio"), 0.8D);
+        modified |= setDefault(settingsNode.getNode("adaptive", "min-range-scale"), 0.25D);
+        modified |= setDefault(settingsNode.getNode("parallel-activation"), false);
+        return modified;
+    }
+
+    private static boolean setDefault(ConfigurationNode node, Object value) {
+        if (node.isVirtual()) {
+            node.setValue(value);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether this policy still reflects the given config, which is
+     * no longer the case after it was reloaded, the world switched to another
+     * config or a new entity type was registered.
+     *
+     * @param config The active config of the world
+     * @return Whether this policy can still be used
+     */
+    public boolean isCurrent(SpongeConfig<?> config) {
+        return this.config == config && this.rootNode == config.getRootNode() && this.enabled.length == getRegisteredTypeCount();
+    }
+
+    /**
+     * Gets whether activation range applies to the entity type with the
+     * given index. Types that are disabled, or whose activation group has a
+     * range of 0, are always kept active.
+     *
+     * @param typeIndex The index of the entity type
+     * @return Whether activation range is enabled for the type
+     */
+    public boolean isActivationEnabled(int typeIndex) {
+        return typeIndex < 0 || typeIndex >= this.enabled.length || this.enabled[typeIndex];
+    }
+
+    /**
+     * Gets the activation group of the entity type with the given index.
+     *
+     * @param typeIndex The index of the entity type
+     * @param defaultType The group to use if the type is unknown
+     * @return The activation group
+     */
+    public byte getActivationType(int typeIndex, byte defaultType) {
+        if (typeIndex < 0 || typeIndex >= this.activationTypes.length) {
+            return defaultType;
+        }
+        return this.activationTypes[typeIndex];
+    }
+
+    /**
+     * Gets how often an entity of the given type is ticked while active. An
+     * interval of 1 ticks it every tick.
+     *
+     * @param typeIndex The index of the entity type
+     * @param activationType The activation group to use if the type is
+     *     unknown
+     * @return The tick interval
+     */
+    public int getTickInterval(int typeIndex, byte activationType) {
+        if (typeIndex >= 0 && typeIndex < this.tickIntervals.length) {
+            return this.tickIntervals[typeIndex];
+        }
+        if (activationType < 0 || activationType >= this.groupTickIntervals.length) {
+            return this.groupTickIntervals[MISC];
+        }
+        return this.groupTickIntervals[activationType];
+    }
+
+    public int getActivationRange(byte activationType) {
+        if (activationType < 0 || activationType >= this.activationRanges.length) {
+            return this.activationRanges[MISC];
+        }
+        return this.activationRanges[activationType];
+    }
+
+    public int getMaxActivationRange() {
+        return this.maxActivationRange;
+    }
+
+    /**
+     * Gets the immunity rules enabled in the world.
+     *
+     * @return The enabled immunity rules
+     */
+    public ImmutableList<ImmunityRule> getImmunityRules() {
+        return this.immunityRules;
+    }
+
+    /**
+     * Gets the average tick time in milliseconds above which the activation
+     * ranges of the world are shrunk, or 0 if they are never adapted.
+     *
+     * @return The tick budget
+     */
+    public double getTickBudget() {
+        return this.tickBudget;
+    }
+
+    /**
+     * Gets the fraction of the tick budget the average tick time has to fall
+     * under before shrunk activation ranges are grown back.
+     *
+     * @return The recovery ratio
+     */
+    public double getRecoveryRatio() {
+        return this.recoveryRatio;
+    }
+
+    public float getMinRangeScale() {
+        return this.minRangeScale;
+    }
+
+    /**
+     * Gets whether the activation pass of the world is computed alongside
+     * those of the other worlds, before any of them are ticked.
+     *
+     * @return Whether parallel activation is enabled
+     */
+    public boolean isParallelActivationEnabled() {
+        return this.parallelActivation;
+    }
+}
@@ -29,28 +29,16 @@
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.entity.IRangedAttackMob;
-import net.minecraft.entity.boss.EntityDragon;
-import net.minecraft.entity.boss.EntityDragonPart;
-import net.minecraft.entity.boss.EntityWither;
-import net.minecraft.entity.effect.EntityWeatherEffect;
-import net.minecraft.entity.item.EntityEnderCrystal;
-import net.minecraft.entity.item.EntityFireworkRocket;
-import net.minecraft.entity.item.EntityTNTPrimed;
 import net.minecraft.entity.monster.EntityMob;
 import net.minecraft.entity.monster.IMob;
 import net.minecraft.entity.passive.EntityAmbientCreature;
 import net.minecraft.entity.passive.EntityAnimal;
 import net.minecraft.entity.passive.EntityWaterMob;
-import net.minecraft.entity.player.EntityPlayer;
-import net.minecraft.entity.projectile.EntityFireball;
-import net.minecraft.entity.projectile.EntityThrowable;
 import net.minecraft.util.AxisAlignedBB;
 import net.minecraft.util.BlockPos;
 import net.minecraft.util.MathHelper;
 import net.minecraft.world.World;
 import net.minecraft.world.WorldServer;
-import net.minecraft.world.chunk.Chunk;
-import net.minecraftforge.common.util.FakePlayer;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.config.SpongeConfig;
 import org.spongepowered.common.config.SpongeConfig.WorldConfig;
@@ -58,26 +46,38 @@
 import org.spongepowered.common.interfaces.entity.IMixinEntity;
 import org.spongepowered.common.interfaces.world.IMixinWorld;
 import org.spongepowered.common.interfaces.world.IMixinWorldProvider;
+import org.spongepowered.mod.interfaces.IMixinEntityActivation;
+import org.spongepowered.mod.interfaces.IMixinWorldActivation;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.ForkJoinWorkerThread;
 
 public class ActivationRange {
 
-    static AxisAlignedBB maxBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB miscBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB creatureBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB monsterBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB aquaticBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
-    static AxisAlignedBB ambientBB = AxisAlignedBB.fromBounds(0, 0, 0, 0, 0, 0);
+    private static ForkJoinPool activationPool;
+
     /**
      * Initializes an entities type on construction to specify what group this
-     * entity is in for activation ranges.
+     * entity is in for activation ranges. The group is only computed once per
+     * entity class.
      *
      * @param entity Entity to get type for
      * @return group id
      */
     public static byte initializeEntityActivationType(Entity entity) {
+        final ActivationClassCache classCache = ActivationClassCache.get(entity.getClass());
+        byte activationType = classCache.activationType;
+        if (activationType == 0) {
+            activationType = computeEntityActivationType(entity);
+            classCache.activationType = activationType;
+        }
+        return activationType;
+    }
+
+    private static byte computeEntityActivationType(Entity entity) {
 
         // account for entities that dont extend EntityMob, EntityAmbientCreature, EntityCreature
         if (((IMob.class.isAssignableFrom(entity.getClass())
@@ -106,27 +106,31 @@ public static boolean initializeEntityActivationState(Entity entity) {
         if (entity.worldObj.isRemote) {
             return true;
         }
-        SpongeConfig.EntityActivationRangeCategory config = getActiveConfig(entity.worldObj).getConfig().getEntityActivationRange();
 
-        if ((((IMixinEntity) entity).getActivationType() == 5 && config.getMiscActivationRange() == 0)
-                || (((IMixinEntity) entity).getActivationType() == 4 && config.getAmbientActivationRange() == 0)
-                || (((IMixinEntity) entity).getActivationType() == 3 && config.getAquaticActivationRange() == 0)
-                || (((IMixinEntity) entity).getActivationType() == 2 && config.getCreatureActivationRange() == 0)
-                || (((IMixinEntity) entity).getActivationType() == 1 && config.getMonsterActivationRange() == 0)
-                || (entity instanceof EntityPlayer && !(entity instanceof FakePlayer))
-                || entity instanceof EntityThrowable
-                || entity instanceof EntityDragon
-                || entity instanceof EntityDragonPart
-                || entity instanceof EntityWither
-                || entity instanceof EntityFireball
-                || entity instanceof EntityWeatherEffect
-                || entity instanceof EntityTNTPrimed
-                || entity instanceof EntityEnderCrystal
-                || entity instanceof EntityFireworkRocket) {
+        if (ActivationClassCache.get(entity.getClass()).alwaysActive) {
             return true;
         }
 
-        return false;
+        final ActivationPolicy policy = ((IMixinWorldActivation) entity.worldObj).getActivationContext().getPolicy();
+        return policy.getActivationRange(((IMixinEntity) entity).getActivationType()) == 0;
+    }
+
+    /**
+     * Gets the dense index of the type of an entity, which is only looked up
+     * once per entity class.
+     *
+     * @param entity The entity
+     * @param type The type of the entity
+     * @return The index of the type
+     */
+    public static int getActivationTypeIndex(Entity entity, SpongeEntityType type) {
+        final ActivationClassCache classCache = ActivationClassCache.get(entity.getClass());
+        int typeIndex = classCache.typeIndex;
+        if (typeIndex < 0) {
+            typeIndex = ActivationPolicy.getTypeIndex(type, ((IMixinEntity) entity).getActivationType());
+            classCache.typeIndex = typeIndex;
+        }
+        return typeIndex;
     }
 
     /**
@@ -155,107 +159,61 @@ public static void growBb(AxisAlignedBB target, AxisAlignedBB source, int x, int
      * @param world The world to perform activation checks in
      */
     public static void activateEntities(World world) {
-        SpongeConfig.EntityActivationRangeCategory config = getActiveConfig(world).getConfig().getEntityActivationRange();
-        final int miscActivationRange = config.getMiscActivationRange();
-        final int creatureActivationRange = config.getCreatureActivationRange();
-        final int monsterActivationRange = config.getMonsterActivationRange();
-        final int aquaticActivationRange = config.getAquaticActivationRange();
-        final int ambientActivationRange = config.getAmbientActivationRange();
+        ((IMixinWorldActivation) world).getActivationContext().activateEntities(world.getWorldInfo().getWorldTotalTime());
+    }
 
-        int[] ranges = {miscActivationRange, creatureActivationRange, monsterActivationRange, aquaticActivationRange, ambientActivationRange};
-        int maxRange = 0;
-        for (int range : ranges) {
-            if (range > maxRange) {
-                maxRange = range;
-            }
+    /**
+     * Computes the activation pass of all given worlds that have parallel
+     * activation enabled concurrently, ahead of their tick. Each world later skips its own pass in
+     * {@link #activateEntities(World)} as it was already computed.
+     *
+     * <p>This must be called before the worlds are ticked, as the pass is
+     * computed for the world time the upcoming tick will run at.</p>
+     *
+     * @param worlds The worlds to activate entities in
+     */
+    public static void activateWorlds(WorldServer[] worlds) {
+        if (worlds.length < 2) {
+            return;
         }
 
-        maxRange = Math.max(maxRange, miscActivationRange);
-        maxRange = Math.min((6 << 4) - 8, maxRange);
-
-        for (Object entity : world.playerEntities) {
-
-            Entity player = (Entity) entity;
-            ((IMixinEntity) player).setActivatedTick(world.getWorldInfo().getWorldTotalTime());
-            growBb(maxBB, player.getEntityBoundingBox(), maxRange, 256, maxRange);
-            growBb(miscBB, player.getEntityBoundingBox(), miscActivationRange, 256, miscActivationRange);
-            growBb(creatureBB, player.getEntityBoundingBox(), creatureActivationRange, 256, creatureActivationRange);
-            growBb(monsterBB, player.getEntityBoundingBox(), monsterActivationRange, 256, monsterActivationRange);
-            growBb(aquaticBB, player.getEntityBoundingBox(), aquaticActivationRange, 256, aquaticActivationRange);
-            growBb(ambientBB, player.getEntityBoundingBox(), ambientActivationRange, 256, ambientActivationRange);
-
-            int i = MathHelper.floor_double(maxBB.minX / 16.0D);
-            int j = MathHelper.floor_double(maxBB.maxX / 16.0D);
-            int k = MathHelper.floor_double(maxBB.minZ / 16.0D);
-            int l = MathHelper.floor_double(maxBB.maxZ / 16.0D);
+        ForkJoinTask<?>[] tasks = new ForkJoinTask<?>[worlds.length];
+        for (int i = 0; i < worlds.length; i++) {
+            final WorldServer world = worlds[i];
+            if (world.playerEntities.isEmpty()) {
+                continue;
+            }
+            final ActivationContext context = ((IMixinWorldActivation) world).getActivationContext();
+            // Configs are only read on the server thread, so the policy is compiled before forking
+            final ActivationPolicy policy = context.refreshPolicy();
+            if (!policy.isParallelActivationEnabled()) {
+                continue;
+            }
+            final long nextTick = world.getWorldInfo().getWorldTotalTime() + 1;
+            tasks[i] = getActivationPool().submit(() -> context.activateEntities(nextTick, policy));
+        }
 
-            for (int i1 = i; i1 <= j; ++i1) {
-                for (int j1 = k; j1 <= l; ++j1) {
-                    WorldServer worldserver = (WorldServer) world;
-                    if (worldserver.theChunkProviderServer.chunkExists(i1, j1)) {
-                        activateChunkEntities(world.getChunkFromChunkCoords(i1, j1));
-                    }
-                }
+        for (int i = 0; i < tasks.length; i++) {
+            if (tasks[i] == null) {
+                continue;
+            }
+            try {
+                tasks[i].join();
+            } catch (Throwable t) {
+                SpongeImpl.getLogger().error("Could not compute entity activation for world {}", worlds[i].getWorldInfo().getWorldName(), t);
             }
         }
     }
 
-    /**
-     * Checks for the activation state of all entities in this chunk.
-     *
-     * @param chunk Chunk to check for activation
-     */
-    @SuppressWarnings("rawtypes")
-    private static void activateChunkEntities(Chunk chunk) {
-        for (int i = 0; i < chunk.getEntityLists().length; ++i) {
-
-            for (Object o : chunk.getEntityLists()[i]) {
-                Entity entity = (Entity) o;
-                SpongeConfig<?> config = getActiveConfig(entity.worldObj);
-                // TODO
-                if (config == null) continue;
-                SpongeEntityType type = (SpongeEntityType) ((org.spongepowered.api.entity.Entity) entity).getType();
-                if (entity.worldObj.getWorldInfo().getWorldTotalTime() > ((IMixinEntity) entity).getActivatedTick()) {
-                    if (((IMixinEntity) entity).getDefaultActivationState()) {
-                        ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                        continue;
-                    }
-                    if (!config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), "enabled").getBoolean()
-                            || !config.getRootNode()
-                            .getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), "entities", type.getName())
-                            .getBoolean()) {
-                        continue;
-                    }
-                    switch (((IMixinEntity) entity).getActivationType()) {
-                        case 1:
-                            if (monsterBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 2:
-                            if (creatureBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 3:
-                            if (aquaticBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 4:
-                            if (ambientBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                            break;
-                        case 5:
-                        default:
-                            if (miscBB.intersectsWith(entity.getEntityBoundingBox())) {
-                                ((IMixinEntity) entity).setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime());
-                            }
-                    }
-                }
-            }
+    private static ForkJoinPool getActivationPool() {
+        if (activationPool == null) {
+            activationPool = new ForkJoinPool(Runtime.getRuntime().availableProcessors(), pool -> {
+                ForkJoinWorkerThread thread = ForkJoinPool.defaultForkJoinWorkerThreadFactory.newThread(pool);
+                thread.setName("Sponge Entity Activation Thread #" + thread.getPoolIndex());
+                return thread;
+            }, null, false);
         }
+        return activationPool;
     }
 
     /**
@@ -266,7 +224,7 @@ private static void activateChunkEntities(Chunk chunk) {
      * @return Whether entity should still be maintained active
      */
     public static boolean checkEntityImmunities(Entity entity) {
-        return false;
+        return ((IMixinWorldActivation) entity.worldObj).getActivationContext().checkImmunities(entity);
     }
 
     /**
@@ -281,16 +239,20 @@ public static boolean checkIfActive(Entity entity) {
         }
 
         IMixinEntity spongeEntity = (IMixinEntity) entity;
-        boolean isActive =
-                spongeEntity.getActivatedTick() >= entity.worldObj.getWorldInfo().getWorldTotalTime() || spongeEntity.getDefaultActivationState();
+        final ActivationContext context = ((IMixinWorldActivation) entity.worldObj).getActivationContext();
+        final ActivationMetrics metrics = context.getMetrics();
+        final int typeIndex = ((IMixinEntityActivation) entity).getActivationTypeIndex();
+        final long currentTick = entity.worldObj.getWorldInfo().getWorldTotalTime();
+        boolean isActive = spongeEntity.getActivatedTick() >= currentTick || spongeEntity.getDefaultActivationState();
 
         // Should this entity tick?
         if (!isActive) {
-            if ((entity.worldObj.getWorldInfo().getWorldTotalTime() - spongeEntity.getActivatedTick() - 1) % 20 == 0) {
+            if ((currentTick - spongeEntity.getActivatedTick() - 1) % 20 == 0) {
                 // Check immunities every 20 ticks.
                 if (checkEntityImmunities(entity)) {
                     // Triggered some sort of immunity, give 20 full ticks before we check again.
-                    spongeEntity.setActivatedTick(entity.worldObj.getWorldInfo().getWorldTotalTime() + 20);
+                    spongeEntity.setActivatedTick(currentTick + 20);
+                    metrics.increment(ActivationMetrics.Counter.IMMUNITY_WAKEUPS, typeIndex);
                 }
                 isActive = true;
             }
@@ -299,20 +261,45 @@ public static boolean checkIfActive(Entity entity) {
             isActive = false;
         }
 
+        // Throttle types with a tick interval, staggered by entity id to spread them over the ticks.
+        // Entities an immunity has woken up ahead of the current tick get every tick until it wears off.
+        if (isActive && !spongeEntity.getDefaultActivationState() && spongeEntity.getActivatedTick() <= currentTick) {
+            final int tickInterval = context.getPolicy().getTickInterval(typeIndex, spongeEntity.getActivationType());
+            if (tickInterval > 1 && (currentTick + entity.getEntityId()) % tickInterval != 0) {
+                isActive = false;
+                metrics.increment(ActivationMetrics.Counter.THROTTLED_SKIPS, typeIndex);
+            }
+        }
+
         // Make sure not on edge of unloaded chunk
         int x = MathHelper.floor_double(entity.posX);
         int z = MathHelper.floor_double(entity.posZ);
         if (isActive && !entity.worldObj.isAreaLoaded(new BlockPos(x, 0, z), 16)) {
             isActive = false;
+            metrics.increment(ActivationMetrics.Counter.UNLOADED_SKIPS, typeIndex);
         }
 
+        metrics.increment(isActive ? ActivationMetrics.Counter.ACTIVE_TICKS : ActivationMetrics.Counter.INACTIVE_TICKS, typeIndex);
         return isActive;
     }
 
+    /**
+     * Adds an entity type to the activation range section of the configs of
+     * a world. Each type is only queued once per world, the configs are
+     * written asynchronously by the {@link ActivationConfigQueue}.
+     *
+     * @param world The world the entity was constructed in
+     * @param type The type of the entity
+     * @param activationType The activation group of the entity
+     */
     public static void addEntityToConfig(World world, SpongeEntityType type, byte activationType) {
         checkNotNull(world, "world");
         checkNotNull(type, "type");
 
+        if (!((IMixinWorldActivation) world).getActivationContext().markRegistered(type)) {
+            return;
+        }
+
         List<SpongeConfig<?>> configs = new ArrayList<>();
         configs.add(SpongeImpl.getGlobalConfig());
         configs.add(((IMixinWorldProvider) world.provider).getDimensionConfig());
@@ -320,31 +307,20 @@ public static void addEntityToConfig(World world, SpongeEntityType type, byte ac
         checkNotNull(configs.get(0), "global");
         checkNotNull(configs.get(1), "dimension");
         checkNotNull(configs.get(2), "world");
-        String entityType = "misc";
-        if (activationType == 1) {
-            entityType = "monster";
-        } else if (activationType == 2) {
-            entityType = "creature";
-        } else if (activationType == 3) {
-            entityType = "aquatic";
-        } else if (activationType == 4) {
-            entityType = "ambient";
-        }
-
-        for (SpongeConfig<?> config : configs) {
-            // TODO
-            if (config == null) continue;
-            if (config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId()).isVirtual()) {
-                config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), "enabled").setValue(true);
-            }
+        ActivationConfigQueue.enqueue(configs, type, activationType);
+    }
 
-            if (config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), entityType, type.getName())
-                    .isVirtual()) {
-                config.getRootNode().getNode(SpongeConfig.MODULE_ENTITY_ACTIVATION_RANGE, type.getModId(), entityType, type.getName())
-                        .setValue(true);
-                config.save();
-            }
-        }
+    /**
+     * Gets the activation range currently applied to an activation group in
+     * a world, which may be smaller than the configured range while the
+     * world is over its tick budget.
+     *
+     * @param world The world
+     * @param activationType The activation group
+     * @return The effective activation range
+     */
+    public static int getEffectiveActivationRange(World world, byte activationType) {
+        return ((IMixinWorldActivation) world).getActivationContext().getEffectiveActivationRange(activationType);
     }
 
     public static SpongeConfig<?> getActiveConfig(World world) {
@@ -0,0 +1,97 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.entityactivation;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.EntityLiving;
+import net.minecraft.entity.EntityLivingBase;
+
+/**
+ * The checks that can keep an entity ticking while it is outside of the
+ * activation range of every player. Each rule is a cheap field check and can
+ * be toggled per world under {@code entity-activation-settings.immunities}.
+ */
+public enum ImmunityRule {
+
+    FIRE("fire") {
+        @Override
+        public boolean test(Entity entity) {
+            return entity.isBurning();
+        }
+    },
+    IN_WATER("in-water") {
+        @Override
+        public boolean test(Entity entity) {
+            return entity.isInWater();
+        }
+    },
+    HURT("hurt") {
+        @Override
+        public boolean test(Entity entity) {
+            return entity instanceof EntityLivingBase && ((EntityLivingBase) entity).hurtTime > 0;
+        }
+    },
+    ATTACK_TARGET("attack-target") {
+        @Override
+        public boolean test(Entity entity) {
+            return entity instanceof EntityLiving && ((EntityLiving) entity).getAttackTarget() != null;
+        }
+    },
+    VEHICLE("vehicle") {
+        @Override
+        public boolean test(Entity entity) {
+            return entity.ridingEntity != null || entity.riddenByEntity != null;
+        }
+    },
+    TELEPORT("teleport") {
+        @Override
+        public boolean test(Entity entity) {
+            return entity.timeUntilPortal > 0;
+        }
+    };
+
+    private final String id;
+
+    ImmunityRule(String id) {
+        this.id = id;
+    }
+
+    /**
+     * Gets the config node name of this rule.
+     *
+     * @return The id
+     */
+    public String getId() {
+        return this.id;
+    }
+
+    /**
+     * Checks whether the given entity is immune according to this rule.
+     *
+     * @param entity The entity to check
+     * @return Whether the entity should be kept active
+     */
+    public abstract boolean test(Entity entity);
+}
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.tileentityactivation;
+
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.tileentity.TileEntityPiston;
+import net.minecraft.world.World;
+import org.spongepowered.mod.interfaces.IMixinWorldTileEntityActivation;
+
+public class TileEntityActivation {
+
+    private static final ClassValue<TypeIndex> typeIndices = new ClassValue<TypeIndex>() {
+
+        @Override
+        protected TypeIndex computeValue(Class<?> type) {
+            // Pistons finish moving their block on tick, throttling them would leave blocks stuck mid move
+            return new TypeIndex(TileEntityPiston.class.isAssignableFrom(type));
+        }
+    };
+
+    /**
+     * Checks if the tile entity should tick this tick.
+     *
+     * @param tileEntity The tile entity to check for activity
+     * @return Whether the given tile entity should be updated
+     */
+    public static boolean checkIfActive(TileEntity tileEntity) {
+        final World world = tileEntity.getWorld();
+        if (world == null || world.isRemote) {
+            return true;
+        }
+
+        if (typeIndices.get(tileEntity.getClass()).exempt) {
+            return true;
+        }
+        return ((IMixinWorldTileEntityActivation) world).getTileEntityActivationContext().checkIfActive(tileEntity, getTypeIndex(tileEntity));
+    }
+
+    /**
+     * Gets the dense index of the type of a tile entity, which is only looked
+     * up once per tile entity class.
+     *
+     * @param tileEntity The tile entity
+     * @return The index of the type
+     */
+    public static int getTypeIndex(TileEntity tileEntity) {
+        final TypeIndex typeIndex = typeIndices.get(tileEntity.getClass());
+        int index = typeIndex.index;
+        if (index < 0) {
+            synchronized (typeIndex) {
+                index = typeIndex.index;
+                if (index < 0) {
+                    index = TileEntityActivationPolicy.registerType(
+                            ((org.spongepowered.api.block.tileentity.TileEntity) tileEntity).getType().getId().toLowerCase());
+                    typeIndex.index = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    private static final class TypeIndex {
+
+        final boolean exempt;
+        volatile int index = -1;
+
+        TypeIndex(boolean exempt) {
+            this.exempt = exempt;
+        }
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.tileentityactivation;
+
+import net.minecraft.entity.Entity;
+import net.minecraft.tileentity.TileEntity;
+import net.minecraft.util.BlockPos;
+import net.minecraft.world.World;
+import org.spongepowered.common.config.SpongeConfig;
+import org.spongepowered.mod.mixin.plugin.entityactivation.ActivationRange;
+
+import java.util.Arrays;
+
+/**
+ * Holds the tile entity activation state of a single world.
+ */
+public final class TileEntityActivationContext {
+
+    public static final int TICKS = 0;
+    public static final int RANGE_SKIPS = 1;
+    public static final int INTERVAL_SKIPS = 2;
+    private static final int COUNTERS = 3;
+
+    private final World world;
+    private TileEntityActivationPolicy policy;
+    private long lastTick = Long.MIN_VALUE;
+
+    // Player positions of the current tick
+    private double[] playerPositions = new double[16];
+    private int playerCount;
+
+    private long[] counts = new long[64 * COUNTERS];
+
+    public TileEntityActivationContext(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Gets the compiled tile entity activation policy of the world,
+     * recompiling it if the active config has changed since it was last
+     * built.
+     *
+     * @return The activation policy
+     */
+    public TileEntityActivationPolicy refreshPolicy() {
+        final SpongeConfig<?> config = ActivationRange.getActiveConfig(this.world);
+        if (this.policy == null || !this.policy.isCurrent(config)) {
+            this.policy = TileEntityActivationPolicy.compile(config);
+        }
+        return this.policy;
+    }
+
+    /**
+     * Checks if the tile entity should tick this tick, counting the outcome.
+     *
+     * @param tileEntity The tile entity to check
+     * @param typeIndex The index of the type of the tile entity
+     * @return Whether the tile entity should be updated
+     */
+    public boolean checkIfActive(TileEntity tileEntity, int typeIndex) {
+        final long currentTick = this.world.getWorldInfo().getWorldTotalTime();
+        if (currentTick != this.lastTick) {
+            this.lastTick = currentTick;
+            refreshPolicy();
+            capturePlayerPositions();
+        }
+
+        final BlockPos pos = tileEntity.getPos();
+        final int tickInterval = this.policy.getTickInterval(typeIndex);
+        if (tickInterval > 1 && (currentTick + (pos.hashCode() & Integer.MAX_VALUE)) % tickInterval != 0) {
+            increment(INTERVAL_SKIPS, typeIndex);
+            return false;
+        }
+
+        final int range = this.policy.getActivationRange(typeIndex);
+        if (range > 0 && !isPlayerInRange(pos, range)) {
+            increment(RANGE_SKIPS, typeIndex);
+            return false;
+        }
+
+        increment(TICKS, typeIndex);
+        return true;
+    }
+
+    private void capturePlayerPositions() {
+        this.playerCount = this.world.playerEntities.size();
+        if (this.playerPositions.length < this.playerCount * 2) {
+            this.playerPositions = new double[this.playerCount * 2];
+        }
+        for (int p = 0; p < this.playerCount; p++) {
+            Entity player = (Entity) this.world.playerEntities.get(p);
+            this.playerPositions[p * 2] = player.posX;
+            this.playerPositions[p * 2 + 1] = player.posZ;
+        }
+    }
+
+    private boolean isPlayerInRange(BlockPos pos, int range) {
+        final double x = pos.getX() + 0.5D;
+        final double z = pos.getZ() + 0.5D;
+        for (int p = 0; p < this.playerCount; p++) {
+            if (Math.abs(this.playerPositions[p * 2] - x) <= range && Math.abs(this.playerPositions[p * 2 + 1] - z) <= range) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void increment(int counter, int typeIndex) {
+        final int offset = (typeIndex + 1) * COUNTERS + counter;
+        if (offset >= this.counts.length) {
+            this.counts = Arrays.copyOf(this.counts, Math.max((typeIndex + 2) * COUNTERS, this.counts.length * 2));
+        }
+        this.counts[offset]++;
+    }
+
+    /**
+     * Gets the value of a counter for a tile entity type.
+     *
+     * @param counter The counter, one of {@link #TICKS},
+     *     {@link #RANGE_SKIPS} or {@link #INTERVAL_SKIPS}
+     * @param typeIndex The index of the tile entity type
+     * @return The value of the counter
+     */
+    public long getCount(int counter, int typeIndex) {
+        final int offset = (typeIndex + 1) * COUNTERS + counter;
+        return offset < this.counts.length ? this.counts[offset] : 0;
+    }
+
+    public void resetCounts() {
+        Arrays.fill(this.counts, 0);
+    }
+}
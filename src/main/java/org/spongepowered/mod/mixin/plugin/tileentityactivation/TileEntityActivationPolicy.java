@@ -0,0 +1,201 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.mixin.plugin.tileentityactivation;
+
+import static com.google.common.base.Preconditions.checkNotNull;
+
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.common.SpongeImpl;
+import org.spongepowered.common.config.SpongeConfig;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * An immutable snapshot of the tile entity activation settings of a world,
+ * addressed by the dense tile entity type index handed out by
+ * {@link #registerType(String)}.
+ *
+ * <p>The settings live in the {@code tileentity-activation-range} section of
+ * the global, dimension and world configs:</p>
+ *
+ * <pre>
+ * tileentity-activation-range {
+ *     default-range = 0
+ *     default-tick-interval = 1
+ *     &lt;mod&gt; {
+ *         enabled = true
+ *         default-range = 64
+ *         ranges { &lt;tile entity&gt; = 32 }
+ *         tick-intervals { &lt;tile entity&gt; = 4 }
+ *     }
+ * }
+ * </pre>
+ *
+ * <p>A range of 0 ticks a tile entity regardless of players, so nothing is
+ * throttled unless a mod or tile entity type opts in.</p>
+ */
+public final class TileEntityActivationPolicy {
+
+    public static final String MODULE_TILE_ENTITY_ACTIVATION_RANGE = "tileentity-activation-range";
+    private static final String MODULE_ENABLED_SETTING = "tileentity-activation";
+
+    private static final List<String> typeIds = new ArrayList<>();
+
+    private final SpongeConfig<?> config;
+    private final ConfigurationNode rootNode;
+    private final int defaultRange;
+    private final int defaultTickInterval;
+    private final int[] ranges;
+    private final int[] tickIntervals;
+
+    private TileEntityActivationPolicy(SpongeConfig<?> config, int defaultRange, int defaultTickInterval, int[] ranges, int[] tickIntervals) {
+        this.config = config;
+        this.rootNode = config.getRootNode();
+        this.defaultRange = defaultRange;
+        this.defaultTickInterval = defaultTickInterval;
+        this.ranges = ranges;
+        this.tickIntervals = tickIntervals;
+    }
+
+    /**
+     * Registers a tile entity type, identified by the id of its
+     * {@link org.spongepowered.api.block.tileentity.TileEntityType}.
+     *
+     * @param typeId The id of the type
+     * @return The index of the type
+     */
+    static synchronized int registerType(String typeId) {
+        checkNotNull(typeId, "typeId");
+        typeIds.add(typeId);
+        return typeIds.size() - 1;
+    }
+
+    public static synchronized int getRegisteredTypeCount() {
+        return typeIds.size();
+    }
+
+    public static synchronized String getTypeId(int typeIndex) {
+        return typeIndex < 0 || typeIndex >= typeIds.size() ? "unknown" : typeIds.get(typeIndex);
+    }
+
+    /**
+     * Checks whether the tile entity activation module is enabled, under
+     * {@code modules.tileentity-activation} in the global config.
+     *
+     * @return Whether the module is enabled
+     */
+    public static boolean isModuleEnabled() {
+        return getModuleEnabledNode(SpongeImpl.getGlobalConfig()).getBoolean(false);
+    }
+
+    private static ConfigurationNode getModuleEnabledNode(SpongeConfig<?> config) {
+        return config.getRootNode().getNode("modules", MODULE_ENABLED_SETTING);
+    }
+
+    /**
+     * Writes the default value of the module switch and the global settings
+     * that are missing from the given config, so that admins can find them.
+     *
+     * @param config The config to complete
+     * @return Whether the config was modified and needs to be saved
+     */
+    public static boolean writeDefaultSettings(SpongeConfig<?> config) {
+        final ConfigurationNode moduleNode = config.getRootNode().getNode(MODULE_TILE_ENTITY_ACTIVATION_RANGE);
+        boolean modified = setDefault(getModuleEnabledNode(config), false);
+        modified |= setDefault(moduleNode.getNode("default-range"), 0);
+        modified |= setDefault(moduleNode.getNode("default-tick-interval"), 1);
+        return modified;
+    }
+
+    private static boolean setDefault(ConfigurationNode node, Object value) {
+        if (node.isVirtual()) {
+            node.setValue(value);
+            return true;
+        }
+        return false;
+    }
+
+    /**
+     * Compiles the tile entity activation settings of the given config against
+     * all tile entity types registered so far.
+     *
+     * @param config The active config of a world
+     * @return The compiled policy
+     */
+    public static TileEntityActivationPolicy compile(SpongeConfig<?> config) {
+        checkNotNull(config, "config");
+        final String[] knownTypes;
+        synchronized (TileEntityActivationPolicy.class) {
+            knownTypes = typeIds.toArray(new String[typeIds.size()]);
+        }
+
+        ConfigurationNode moduleNode = config.getRootNode().getNode(MODULE_TILE_ENTITY_ACTIVATION_RANGE);
+        final int defaultRange = Math.max(0, moduleNode.getNode("default-range").getInt(0));
+        final int defaultTickInterval = Math.max(1, moduleNode.getNode("default-tick-interval").getInt(1));
+        int[] ranges = new int[knownTypes.length];
+        int[] tickIntervals = new int[knownTypes.length];
+        for (int i = 0; i < knownTypes.length; i++) {
+            final int separator = knownTypes[i].indexOf(':');
+            final String modId = separator < 0 ? "minecraft" : knownTypes[i].substring(0, separator);
+            final String name = knownTypes[i].substring(separator + 1);
+            ConfigurationNode modNode = moduleNode.getNode(modId);
+            if (!modNode.getNode("enabled").getBoolean(true)) {
+                ranges[i] = 0;
+                tickIntervals[i] = 1;
+                continue;
+            }
+            ranges[i] = Math.max(0, modNode.getNode("ranges", name).getInt(modNode.getNode("default-range").getInt(defaultRange)));
+            tickIntervals[i] = Math.max(1, modNode.getNode("tick-intervals", name).getInt(defaultTickInterval));
+        }
+
+        return new TileEntityActivationPolicy(config, defaultRange, defaultTickInterval, ranges, tickIntervals);
+    }
+
+    /**
+     * Checks whether this policy still reflects the given config.
+     *
+     * @param config The active config of the world
+     * @return Whether this policy can still be used
+     */
+    public boolean isCurrent(SpongeConfig<?> config) {
+        return this.config == config && this.rootNode == config.getRootNode() && this.ranges.length == getRegisteredTypeCount();
+    }
+
+    /**
+     * Gets the distance a player has to be within for a tile entity of the
+     * given type to tick, or 0 if it ticks regardless of players.
+     *
+     * @param typeIndex The index of the tile entity type
+     * @return The activation range
+     */
+    public int getActivationRange(int typeIndex) {
+        return typeIndex < 0 || typeIndex >= this.ranges.length ? this.defaultRange : this.ranges[typeIndex];
+    }
+
+    public int getTickInterval(int typeIndex) {
+        return typeIndex < 0 || typeIndex >= this.tickIntervals.length ? this.defaultTickInterval : this.tickIntervals[typeIndex];
+    }
+}
@@ -54,6 +54,7 @@
 import org.spongepowered.api.plugin.PluginContainer;
 import org.spongepowered.common.SpongeImpl;
 import org.spongepowered.common.network.SpongeNetworkManager;
+import org.spongepowered.mod.event.SpongeModEventManager;
 import org.spongepowered.mod.interfaces.IMixinNetPlayHandler;
 
 import java.util.Map;
@@ -69,16 +70,20 @@ public void onCustomPacketRegistration(CustomPacketRegistrationEvent<?> event) {
         if (event.operation.equals("REGISTER")) {
             channels.addAll(event.registrations);
             for (String channel : event.registrations) {
-                SpongeImpl.postEvent(SpongeEventFactory.createChannelRegistrationEventRegister(Cause.of(NamedCause.source(event.handler)), channel));
+                getEventManager().postAsync(SpongeEventFactory.createChannelRegistrationEventRegister(Cause.of(NamedCause.source(event.handler)), channel));
             }
         } else if (event.operation.equals("UNREGISTER")) {
             channels.removeAll(event.registrations);
             for (String channel : event.registrations) {
-                SpongeImpl.postEvent(SpongeEventFactory.createChannelRegistrationEventUnregister(Cause.of(NamedCause.source(event.handler)), channel));
+                getEventManager().postAsync(SpongeEventFactory.createChannelRegistrationEventUnregister(Cause.of(NamedCause.source(event.handler)), channel));
             }
         }
     }
 
+    private static SpongeModEventManager getEventManager() {
+        return (SpongeModEventManager) SpongeImpl.getGame().getEventManager();
+    }
+
     protected static C17PacketCustomPayload getRegPacketClient(String channelName) {
         return new C17PacketCustomPayload("REGISTER", new PacketBuffer(wrappedBuffer(channelName.getBytes(Charsets.UTF_8))));
     }
@@ -0,0 +1,430 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.gen;
+
+import com.google.common.collect.MapMaker;
+import net.minecraft.world.ChunkCoordIntPair;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraftforge.fml.relauncher.FMLLaunchHandler;
+import ninja.leaping.configurate.ConfigurationNode;
+import org.spongepowered.common.SpongeImpl;
+
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+
+import javax.annotation.Nullable;
+
+/**
+ * Generates the terrain of chunks ahead of time on a small pool of worker
+ * threads, so that the main thread only has to insert the finished chunk and
+ * populate it.
+ *
+ * <p>Generators share state with the rest of the world (structure maps, gen
+ * layers, biome caches and the provider's random). A worker holds the
+ * generator lock of its world while it generates a chunk, and the main
+ * thread takes the same lock whenever it uses the generator or saves the
+ * world. Gen layers and the biome cache are guarded by a lock of their own
+ * for the duration of each lookup.</p>
+ *
+ * <p>To keep workers from competing with the main thread, every world has a
+ * gate which is closed while the server ticks. Closing the gate never waits:
+ * a chunk already being generated is finished during the tick and picked up
+ * whenever it is needed. Each worker waiting at a gate starts one chunk
+ * every time the gate opens, even if the next tick has already begun, so
+ * that an overloaded server which ticks back to back still makes
+ * progress.</p>
+ *
+ * <p>Work is bounded twice: the shared worker queue holds at most
+ * {@code queue-size} chunks, and every world keeps at most that many chunks
+ * in flight. Once either bound is reached further prefetches are rejected
+ * and the main thread simply generates the chunk itself when it is needed.</p>
+ */
+public final class ChunkGenerationPipeline {
+
+    /**
+     * Produces a fully generated, unpopulated chunk. Implementations must be
+     * safe to call from a worker thread, and return null for chunks that
+     * have to be generated by the main thread instead.
+     */
+    public interface Generator {
+
+        @Nullable
+        Chunk generate(int chunkX, int chunkZ);
+    }
+
+    private static final long STALE_NANOS = TimeUnit.SECONDS.toNanos(30);
+    private static final long SAMPLE_NANOS = TimeUnit.SECONDS.toNanos(5);
+
+    private static final Set<ChunkGenerationPipeline> pipelines = Collections.newSetFromMap(new MapMaker().weakKeys().makeMap());
+    private static final AtomicLong generatedOffThread = new AtomicLong();
+    private static final AtomicLong generatedOnMainThread = new AtomicLong();
+    private static final AtomicLong rejected = new AtomicLong();
+    private static final AtomicLong wasted = new AtomicLong();
+    @Nullable private static Boolean enabled;
+    @Nullable private static ThreadPoolExecutor executor;
+    private static int queueSize;
+
+    private static long sampleTime = System.nanoTime();
+    private static long sampleCount;
+    private static double throughput;
+
+    private final String worldName;
+    private final Generator generator;
+    private final ReentrantLock generatorLock = new ReentrantLock();
+    private final Map<Long, Pending> pending = new ConcurrentHashMap<>();
+
+    // Guarded by the gate monitor. Workers only start chunks while the gate
+    // is open, or once for every opening they were waiting for.
+    private final Object gate = new Object();
+    private boolean gateOpen;
+    private long gateOpenings;
+    private long gateMisses;
+
+    private ChunkGenerationPipeline(String worldName, Generator generator) {
+        this.worldName = worldName;
+        this.generator = generator;
+    }
+
+    /**
+     * Creates a pipeline for the given world, or returns null if off-thread
+     * chunk generation is disabled.
+     */
+    @Nullable
+    public static ChunkGenerationPipeline create(World world, Generator generator) {
+        if (!isEnabled()) {
+            return null;
+        }
+        getExecutor();
+        ChunkGenerationPipeline pipeline = new ChunkGenerationPipeline(world.getWorldInfo().getWorldName(), generator);
+        pipelines.add(pipeline);
+        return pipeline;
+    }
+
+    /**
+     * Checks if off-thread chunk generation is enabled. This is decided once,
+     * when the mixins it depends on are applied, and holds until restart.
+     */
+    public static synchronized boolean isEnabled() {
+        if (enabled == null) {
+            // An integrated server runs tasks outside of its ticks while paused
+            enabled = FMLLaunchHandler.side().isServer() && getConfig().getNode("async-chunk-generation").getBoolean(false);
+        }
+        return enabled;
+    }
+
+    /**
+     * Stops workers from starting any further chunks until the gates open
+     * again. This does not wait for chunks that are being generated. Called
+     * by the server thread when a tick starts.
+     */
+    public static void closeGates() {
+        for (ChunkGenerationPipeline pipeline : pipelines) {
+            synchronized (pipeline.gate) {
+                pipeline.gateOpen = false;
+            }
+        }
+    }
+
+    /**
+     * Lets workers generate until the next tick starts, and drops chunks
+     * that were generated but never used. Called by the server thread when
+     * a tick has finished.
+     */
+    public static void openGates() {
+        for (ChunkGenerationPipeline pipeline : pipelines) {
+            synchronized (pipeline.gate) {
+                pipeline.gateOpen = true;
+                pipeline.gateOpenings++;
+                pipeline.gate.notifyAll();
+            }
+            pipeline.expireStale();
+        }
+    }
+
+    /**
+     * Withdraws every chunk that has not been generated yet. Called by the
+     * server thread when the server stops.
+     */
+    public static void cancelAll() {
+        for (ChunkGenerationPipeline pipeline : pipelines) {
+            synchronized (pipeline.gate) {
+                pipeline.gateOpen = false;
+                for (Pending task : pipeline.pending.values()) {
+                    task.cancel(false);
+                }
+                pipeline.pending.clear();
+                pipeline.gate.notifyAll();
+            }
+        }
+        if (executor != null) {
+            executor.purge();
+        }
+    }
+
+    private static ConfigurationNode getConfig() {
+        return SpongeImpl.getGlobalConfig().getRootNode().getNode("world-generation");
+    }
+
+    private static synchronized ThreadPoolExecutor getExecutor() {
+        if (executor == null) {
+            ConfigurationNode config = getConfig();
+            int threads = Math.max(1, config.getNode("worker-threads").getInt(2));
+            queueSize = Math.max(1, config.getNode("queue-size").getInt(64));
+            AtomicInteger threadId = new AtomicInteger();
+            executor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new ArrayBlockingQueue<>(queueSize), runnable -> {
+                Thread thread = new Thread(runnable, "Sponge Chunk Generator #" + threadId.getAndIncrement());
+                thread.setDaemon(true);
+                thread.setPriority(Thread.NORM_PRIORITY - 1);
+                return thread;
+            }, new ThreadPoolExecutor.AbortPolicy());
+            executor.allowCoreThreadTimeOut(true);
+        }
+        return executor;
+    }
+
+    /**
+     * Acquires the generator of the world, waiting for a worker that is
+     * still generating a chunk. The main thread has to hold it whenever it
+     * uses the generator outside of {@link #take}.
+     */
+    public void lockGenerator() {
+        this.generatorLock.lock();
+    }
+
+    public void unlockGenerator() {
+        this.generatorLock.unlock();
+    }
+
+    /**
+     * Queues the given chunk for generation on a worker thread.
+     *
+     * @return false if the chunk was turned away because the pipeline is
+     *     saturated
+     */
+    public boolean prefetch(int chunkX, int chunkZ) {
+        final long key = ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ);
+        if (this.pending.containsKey(key)) {
+            return true;
+        }
+        if (this.pending.size() >= queueSize) {
+            rejected.incrementAndGet();
+            return false;
+        }
+        final Pending task = new Pending(() -> {
+            Chunk chunk = this.generator.generate(chunkX, chunkZ);
+            if (chunk != null) {
+                generatedOffThread.incrementAndGet();
+            }
+            return chunk;
+        });
+        this.pending.put(key, task);
+        try {
+            getExecutor().execute(task);
+        } catch (RejectedExecutionException e) {
+            this.pending.remove(key);
+            rejected.incrementAndGet();
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Claims the chunk at the given position if it was prefetched. This never
+     * waits: a chunk that has not been generated yet is withdrawn so that the
+     * caller can generate it right away.
+     *
+     * @return the generated chunk, or null if the caller has to generate it
+     */
+    @Nullable
+    public Chunk take(int chunkX, int chunkZ) {
+        final Pending task = this.pending.remove(ChunkCoordIntPair.chunkXZ2Int(chunkX, chunkZ));
+        if (task == null) {
+            generatedOnMainThread.incrementAndGet();
+            return null;
+        }
+        if (!task.isDone()) {
+            if (!task.started) {
+                // No worker got to this chunk in time
+                this.gateMisses++;
+            }
+            task.cancel(false);
+            getExecutor().remove(task);
+            generatedOnMainThread.incrementAndGet();
+            return null;
+        }
+        try {
+            final Chunk chunk = task.get();
+            if (chunk != null) {
+                return chunk;
+            }
+        } catch (InterruptedException | CancellationException e) {
+            // A task that is done never blocks, it can only have been cancelled
+        } catch (ExecutionException e) {
+            SpongeImpl.getLogger().error("Could not generate chunk [{}, {}] in world {} off-thread, generating it again",
+                    chunkX, chunkZ, this.worldName, e.getCause());
+        }
+        generatedOnMainThread.incrementAndGet();
+        return null;
+    }
+
+    private void expireStale() {
+        final long now = System.nanoTime();
+        for (Iterator<Pending> it = this.pending.values().iterator(); it.hasNext();) {
+            Pending task = it.next();
+            if (task.isDone() && now - task.submitted > STALE_NANOS) {
+                it.remove();
+                wasted.incrementAndGet();
+            }
+        }
+    }
+
+    public static Collection<ChunkGenerationPipeline> getPipelines() {
+        return Collections.unmodifiableSet(pipelines);
+    }
+
+    public String getWorldName() {
+        return this.worldName;
+    }
+
+    public int getPendingCount() {
+        return this.pending.size();
+    }
+
+    /**
+     * Gets the number of prefetched chunks that were needed before a worker
+     * could start them, usually because the gate of the world was closed.
+     */
+    public long getGateMisses() {
+        return this.gateMisses;
+    }
+
+    /**
+     * Gets the number of chunks generated per second, on either thread, over
+     * the last sample period.
+     */
+    public static synchronized double getThroughput() {
+        final long now = System.nanoTime();
+        final long elapsed = now - sampleTime;
+        if (elapsed >= SAMPLE_NANOS) {
+            final long count = generatedOffThread.get() + generatedOnMainThread.get();
+            throughput = (count - sampleCount) * (double) TimeUnit.SECONDS.toNanos(1) / elapsed;
+            sampleTime = now;
+            sampleCount = count;
+        }
+        return throughput;
+    }
+
+    public static long getGeneratedOffThread() {
+        return generatedOffThread.get();
+    }
+
+    public static long getGeneratedOnMainThread() {
+        return generatedOnMainThread.get();
+    }
+
+    public static long getRejected() {
+        return rejected.get();
+    }
+
+    public static long getWasted() {
+        return wasted.get();
+    }
+
+    public static int getQueuedCount() {
+        return executor == null ? 0 : executor.getQueue().size();
+    }
+
+    public static void resetCounts() {
+        generatedOffThread.set(0);
+        generatedOnMainThread.set(0);
+        rejected.set(0);
+        wasted.set(0);
+        for (ChunkGenerationPipeline pipeline : pipelines) {
+            pipeline.gateMisses = 0;
+        }
+        synchronized (ChunkGenerationPipeline.class) {
+            sampleTime = System.nanoTime();
+            sampleCount = 0;
+            throughput = 0;
+        }
+    }
+
+    private final class Pending extends FutureTask<Chunk> {
+
+        final long submitted = System.nanoTime();
+        volatile boolean started;
+
+        Pending(Callable<Chunk> callable) {
+            super(callable);
+        }
+
+        @Override
+        public void run() {
+            try {
+                enterGate();
+            } catch (InterruptedException e) {
+                cancel(false);
+                return;
+            }
+            ChunkGenerationPipeline.this.generatorLock.lock();
+            try {
+                // The chunk may have been withdrawn while waiting
+                if (isDone()) {
+                    return;
+                }
+                this.started = true;
+                super.run();
+            } finally {
+                ChunkGenerationPipeline.this.generatorLock.unlock();
+            }
+        }
+
+        private void enterGate() throws InterruptedException {
+            final Object gate = ChunkGenerationPipeline.this.gate;
+            synchronized (gate) {
+                final long openings = ChunkGenerationPipeline.this.gateOpenings;
+                while (!ChunkGenerationPipeline.this.gateOpen && ChunkGenerationPipeline.this.gateOpenings == openings && !isDone()) {
+                    gate.wait();
+                }
+            }
+        }
+    }
+}
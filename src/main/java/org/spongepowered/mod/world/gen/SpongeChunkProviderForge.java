@@ -24,16 +24,25 @@
  */
 package org.spongepowered.mod.world.gen;
 
+import static org.spongepowered.mod.event.SpongeForgeEventFactory.hasForgeListeners;
+
 import com.flowpowered.math.vector.Vector3i;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
 import com.google.common.collect.Lists;
+import com.google.common.collect.MapMaker;
+import com.google.common.collect.Maps;
 import net.minecraft.block.BlockFalling;
+import net.minecraft.entity.EnumCreatureType;
 import net.minecraft.util.BlockPos;
 import net.minecraft.world.World;
+import net.minecraft.world.WorldServer;
+import net.minecraft.world.biome.BiomeGenBase;
 import net.minecraft.world.chunk.ChunkPrimer;
 import net.minecraft.world.chunk.IChunkProvider;
+import net.minecraft.world.chunk.storage.AnvilChunkLoader;
 import net.minecraft.world.gen.ChunkProviderGenerate;
+import net.minecraft.world.gen.ChunkProviderServer;
 import net.minecraft.world.gen.feature.WorldGenerator;
 import net.minecraftforge.common.MinecraftForge;
 import net.minecraftforge.event.terraingen.ChunkProviderEvent;
@@ -59,6 +68,7 @@
 import org.spongepowered.api.event.cause.NamedCause;
 import org.spongepowered.api.world.Chunk;
 import org.spongepowered.api.world.GeneratorTypes;
+import org.spongepowered.api.world.biome.BiomeGenerationSettings;
 import org.spongepowered.api.world.biome.BiomeType;
 import org.spongepowered.api.world.extent.ImmutableBiomeArea;
 import org.spongepowered.api.world.gen.BiomeGenerator;
@@ -94,12 +104,21 @@
 import org.spongepowered.common.world.gen.WorldGenConstants;
 import org.spongepowered.common.world.gen.populators.AnimalPopulator;
 import org.spongepowered.common.world.gen.populators.SnowPopulator;
+import org.spongepowered.mod.event.SpongeModEventManager;
+import org.spongepowered.mod.interfaces.IMixinWorldChunkManager;
 
+import java.util.AbstractList;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Random;
+import java.util.RandomAccess;
+import java.util.function.Supplier;
+
+import javax.annotation.Nullable;
 
 /**
  * Similar class to {@link ChunkProviderGenerate}, but instead gets its blocks
@@ -107,27 +126,179 @@
  */
 public final class SpongeChunkProviderForge extends SpongeChunkProvider {
 
+    // The generators and the shared random are not thread safe. While chunks
+    // are generated off-thread, every use of them takes the generator lock of
+    // the pipeline (see ChunkGenerationPipeline).
+    @Nullable private final ChunkGenerationPipeline pipeline;
+    // The Forge event for each populator is worked out once, and again only
+    // if a block it was derived from is changed on the populator.
+    private final Map<Populator, ForgePopulatorEvent> forgePopulatorEvents = new MapMaker().weakKeys().makeMap();
+    private final Map<BiomeType, ImmutableList<Populator>> mergedPopulators = Maps.newHashMap();
+    private final Deque<List<String>> flagLists = new ArrayDeque<>();
+    @Nullable private Cause populateCause;
+    @Nullable private IChunkProvider populateCauseProvider;
+
     public SpongeChunkProviderForge(World world, GenerationPopulator generationPopulator, BiomeGenerator biomeGenerator) {
         super(world, generationPopulator, biomeGenerator);
+        this.pipeline = world instanceof WorldServer ? ChunkGenerationPipeline.create(world, this::generateChunkOffThread) : null;
+    }
+
+    @Nullable
+    public ChunkGenerationPipeline getPipeline() {
+        return this.pipeline;
+    }
+
+    @Override
+    public net.minecraft.world.chunk.Chunk provideChunk(int chunkX, int chunkZ) {
+        if (this.pipeline == null) {
+            return generateChunk(chunkX, chunkZ);
+        }
+        net.minecraft.world.chunk.Chunk chunk = this.pipeline.take(chunkX, chunkZ);
+        if (chunk == null) {
+            chunk = generateChunk(chunkX, chunkZ);
+        }
+        prefetchNeighbors(chunkX, chunkZ);
+        return chunk;
+    }
+
+    private net.minecraft.world.chunk.Chunk generateChunk(int chunkX, int chunkZ) {
+        return withGenerator(() -> super.provideChunk(chunkX, chunkZ));
+    }
+
+    // Called by a worker, which already holds the generator lock
+    @Nullable
+    private net.minecraft.world.chunk.Chunk generateChunkOffThread(int chunkX, int chunkZ) {
+        try {
+            // Checked for every chunk, as plugins may install generators at any time
+            if (!isVanillaGeneration()) {
+                return null;
+            }
+            return super.provideChunk(chunkX, chunkZ);
+        } finally {
+            ((IMixinWorldChunkManager) this.world.getWorldChunkManager()).releaseBiomeLock();
+        }
+    }
+
+    private <T> T withGenerator(Supplier<T> action) {
+        if (this.pipeline == null) {
+            return action.get();
+        }
+        this.pipeline.lockGenerator();
+        try {
+            return action.get();
+        } finally {
+            this.pipeline.unlockGenerator();
+        }
+    }
+
+    /**
+     * Checks if chunks of this world are only generated by vanilla and
+     * Sponge code, which is known to be safe to run on a worker thread.
+     * Plugin generation populators and generators or terrain listeners of
+     * mods make no such promise, so their chunks stay on the main thread.
+     */
+    private boolean isVanillaGeneration() {
+        if (hasForgeListeners(MinecraftForge.EVENT_BUS, ChunkProviderEvent.ReplaceBiomeBlocks.class)
+                || hasForgeListeners(MinecraftForge.EVENT_BUS, ChunkProviderEvent.InitNoiseField.class)) {
+            return false;
+        }
+        final GenerationPopulator baseGenerator = getBaseGenerationPopulator();
+        final Object base = baseGenerator instanceof SpongeGenerationPopulator
+                ? ((SpongeGenerationPopulator) baseGenerator).getHandle(this.world) : baseGenerator;
+        if (!isVanillaClass(base) || !isVanillaClass(getBiomeGenerator()) || !isVanillaClass(this.world.getWorldChunkManager())) {
+            return false;
+        }
+        for (GenerationPopulator populator : getGenerationPopulators()) {
+            if (!isVanillaClass(populator)) {
+                return false;
+            }
+        }
+        for (BiomeGenerationSettings settings : this.biomeSettings.values()) {
+            for (GenerationPopulator populator : settings.getGenerationPopulators()) {
+                if (!isVanillaClass(populator)) {
+                    return false;
+                }
+            }
+        }
+        return true;
+    }
+
+    private static boolean isVanillaClass(Object object) {
+        final String name = object.getClass().getName();
+        return name.startsWith("net.minecraft.") || name.startsWith("org.spongepowered.common.");
+    }
+
+    // A newly generated chunk is usually followed by its neighbors, whether a
+    // player is exploring or the world is being pre-generated.
+    private void prefetchNeighbors(int chunkX, int chunkZ) {
+        final ChunkProviderServer chunkProvider = ((WorldServer) this.world).theChunkProviderServer;
+        for (int x = chunkX - 1; x <= chunkX + 1; x++) {
+            for (int z = chunkZ - 1; z <= chunkZ + 1; z++) {
+                if (x == chunkX && z == chunkZ || chunkProvider.chunkExists(x, z)) {
+                    continue;
+                }
+                if (chunkProvider.chunkLoader instanceof AnvilChunkLoader
+                        && ((AnvilChunkLoader) chunkProvider.chunkLoader).chunkExists(this.world, x, z)) {
+                    continue;
+                }
+                if (!this.pipeline.prefetch(x, z)) {
+                    return;
+                }
+            }
+        }
     }
 
     @Override
     public void replaceBiomeBlocks(World world, Random rand, int x, int z, ChunkPrimer chunk, ImmutableBiomeArea biomes) {
-        ChunkProviderEvent.ReplaceBiomeBlocks event = new ChunkProviderEvent.ReplaceBiomeBlocks(this, x, z, chunk, world);
-        MinecraftForge.EVENT_BUS.post(event);
-        if (event.getResult() == Result.DENY)
-            return;
+        if (hasForgeListeners(MinecraftForge.EVENT_BUS, ChunkProviderEvent.ReplaceBiomeBlocks.class)) {
+            ChunkProviderEvent.ReplaceBiomeBlocks event = new ChunkProviderEvent.ReplaceBiomeBlocks(this, x, z, chunk, world);
+            MinecraftForge.EVENT_BUS.post(event);
+            if (event.getResult() == Result.DENY)
+                return;
+        }
         super.replaceBiomeBlocks(world, rand, x, z, chunk, biomes);
     }
 
+    @Override
+    public boolean func_177460_a(IChunkProvider chunkProvider, net.minecraft.world.chunk.Chunk chunk, int chunkX, int chunkZ) {
+        return withGenerator(() -> super.func_177460_a(chunkProvider, chunk, chunkX, chunkZ));
+    }
+
+    @Override
+    public void recreateStructures(net.minecraft.world.chunk.Chunk chunk, int chunkX, int chunkZ) {
+        withGenerator(() -> {
+            super.recreateStructures(chunk, chunkX, chunkZ);
+            return null;
+        });
+    }
+
+    @Override
+    public List<BiomeGenBase.SpawnListEntry> getPossibleCreatures(EnumCreatureType creatureType, BlockPos pos) {
+        return withGenerator(() -> super.getPossibleCreatures(creatureType, pos));
+    }
+
+    @Override
+    public BlockPos getStrongholdGen(World world, String structureName, BlockPos pos) {
+        return withGenerator(() -> super.getStrongholdGen(world, structureName, pos));
+    }
+
     @Override
     public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
+        withGenerator(() -> {
+            populateChunk(chunkProvider, chunkX, chunkZ);
+            return null;
+        });
+    }
+
+    private void populateChunk(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
         IMixinWorld world = (IMixinWorld) this.world;
-        this.prevCapturingTerrain = world.getCauseTracker().isCapturingTerrainGen();
-        this.prevProcessingCaptures = world.getCauseTracker().isProcessingCaptureCause();
-        world.getCauseTracker().setProcessingCaptureCause(true);
-        world.getCauseTracker().setCapturingTerrainGen(true);
-        Cause populateCause = Cause.of(NamedCause.source(this), NamedCause.of("ChunkProvider", chunkProvider));
+        final CauseTracker causeTracker = world.getCauseTracker();
+        // Kept in locals, as populating a chunk can populate its neighbors
+        final boolean prevCapturingTerrain = causeTracker.isCapturingTerrainGen();
+        final boolean prevProcessingCaptures = causeTracker.isProcessingCaptureCause();
+        causeTracker.setProcessingCaptureCause(true);
+        causeTracker.setCapturingTerrainGen(true);
+        Cause populateCause = getPopulateCause(chunkProvider);
         this.rand.setSeed(this.world.getSeed());
         long i1 = this.rand.nextLong() / 2L * 2L + 1L;
         long j1 = this.rand.nextLong() / 2L * 2L + 1L;
@@ -139,18 +310,25 @@ public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
 
         Chunk chunk = (Chunk) this.world.getChunkFromChunkCoords(chunkX, chunkZ);
 
-        List<Populator> populators = Lists.newArrayList(this.pop);
         if (!this.biomeSettings.containsKey(biome)) {
             this.biomeSettings.put(biome, ((IBiomeGenBase) biome).initPopulators(this.world));
         }
-        populators.addAll(this.biomeSettings.get(biome).getPopulators());
+        List<Populator> populators = new CopyOnWriteList<>(getMergedPopulators(biome));
 
         Sponge.getGame().getEventManager().post(SpongeEventFactory.createPopulateChunkEventPre(populateCause, populators, chunk));
 
-        MinecraftForge.EVENT_BUS.post(new PopulateChunkEvent.Pre(chunkProvider, this.world, this.rand, chunkX, chunkZ, false));
-        MinecraftForge.EVENT_BUS.post(new DecorateBiomeEvent.Pre(this.world, this.rand, blockpos));
-        MinecraftForge.ORE_GEN_BUS.post(new OreGenEvent.Pre(this.world, this.rand, blockpos));
-        List<String> flags = Lists.newArrayList();
+        if (hasForgeListeners(MinecraftForge.EVENT_BUS, PopulateChunkEvent.Pre.class)) {
+            MinecraftForge.EVENT_BUS.post(new PopulateChunkEvent.Pre(chunkProvider, this.world, this.rand, chunkX, chunkZ, false));
+        }
+        if (hasForgeListeners(MinecraftForge.EVENT_BUS, DecorateBiomeEvent.Pre.class)) {
+            MinecraftForge.EVENT_BUS.post(new DecorateBiomeEvent.Pre(this.world, this.rand, blockpos));
+        }
+        if (hasForgeListeners(MinecraftForge.ORE_GEN_BUS, OreGenEvent.Pre.class)) {
+            MinecraftForge.ORE_GEN_BUS.post(new OreGenEvent.Pre(this.world, this.rand, blockpos));
+        }
+        // Populating a chunk can load and populate its neighbors, so every
+        // nested populate takes its own list
+        List<String> flags = this.flagLists.isEmpty() ? Lists.newArrayList() : this.flagLists.pop();
         for (Populator populator : populators) {
             StaticMixinHelper.runningGenerator = populator.getType();
             if (!checkForgeEvent(populator, chunkProvider, chunkX, chunkZ, flags, chunk)) {
@@ -166,10 +344,18 @@ public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
             }
         }
         StaticMixinHelper.runningGenerator = null;
+        flags.clear();
+        this.flagLists.push(flags);
 
-        MinecraftForge.ORE_GEN_BUS.post(new OreGenEvent.Post(this.world, this.rand, blockpos));
-        MinecraftForge.EVENT_BUS.post(new DecorateBiomeEvent.Post(this.world, this.rand, blockpos));
-        MinecraftForge.EVENT_BUS.post(new PopulateChunkEvent.Post(chunkProvider, this.world, this.rand, chunkX, chunkZ, false));
+        if (hasForgeListeners(MinecraftForge.ORE_GEN_BUS, OreGenEvent.Post.class)) {
+            MinecraftForge.ORE_GEN_BUS.post(new OreGenEvent.Post(this.world, this.rand, blockpos));
+        }
+        if (hasForgeListeners(MinecraftForge.EVENT_BUS, DecorateBiomeEvent.Post.class)) {
+            MinecraftForge.EVENT_BUS.post(new DecorateBiomeEvent.Post(this.world, this.rand, blockpos));
+        }
+        if (hasForgeListeners(MinecraftForge.EVENT_BUS, PopulateChunkEvent.Post.class)) {
+            MinecraftForge.EVENT_BUS.post(new PopulateChunkEvent.Post(chunkProvider, this.world, this.rand, chunkX, chunkZ, false));
+        }
 
         // If we wrapped a custom chunk provider then we should call its
         // populate method so that its particular changes are used.
@@ -178,85 +364,158 @@ public void populate(IChunkProvider chunkProvider, int chunkX, int chunkZ) {
         }
 
         ImmutableMap.Builder<PopulatorType, List<Transaction<BlockSnapshot>>> populatorChanges = ImmutableMap.builder();
-        for (Map.Entry<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> entry : world.getCauseTracker().getCapturedPopulators().entrySet()) {
+        for (Map.Entry<PopulatorType, LinkedHashMap<Vector3i, Transaction<BlockSnapshot>>> entry : causeTracker.getCapturedPopulators().entrySet()) {
             populatorChanges.put(entry.getKey(), ImmutableList.copyOf(entry.getValue().values()));
         }
-        org.spongepowered.api.event.world.chunk.PopulateChunkEvent.Post event =
-                SpongeEventFactory.createPopulateChunkEventPost(populateCause,
-                        populatorChanges.build(),
-                        chunk);
-        SpongeImpl.postEvent(event);
+        Map<PopulatorType, List<Transaction<BlockSnapshot>>> populatedTransactions = populatorChanges.build();
+        if (((SpongeModEventManager) Sponge.getGame().getEventManager())
+                .hasListeners(org.spongepowered.api.event.world.chunk.PopulateChunkEvent.Post.class)) {
+            org.spongepowered.api.event.world.chunk.PopulateChunkEvent.Post event =
+                    SpongeEventFactory.createPopulateChunkEventPost(populateCause,
+                            populatedTransactions,
+                            chunk);
+            SpongeImpl.postEvent(event);
+            populatedTransactions = event.getPopulatedTransactions();
+        }
 
-        CauseTracker causeTracker = world.getCauseTracker();
-        this.prevRestoringBlocks = causeTracker.isRestoringBlocks();
+        final boolean prevRestoringBlocks = causeTracker.isRestoringBlocks();
         causeTracker.setRestoringBlocks(true);
-        for (List<Transaction<BlockSnapshot>> transactions : event.getPopulatedTransactions().values()) {
+        for (List<Transaction<BlockSnapshot>> transactions : populatedTransactions.values()) {
             causeTracker.markAndNotifyBlockPost(transactions, CaptureType.POPULATE, populateCause);
         }
-        causeTracker.setRestoringBlocks(this.prevRestoringBlocks);
-        causeTracker.setCapturingTerrainGen(this.prevCapturingTerrain);
-        causeTracker.setProcessingCaptureCause(this.prevProcessingCaptures);
+        causeTracker.setRestoringBlocks(prevRestoringBlocks);
+        causeTracker.setCapturingTerrainGen(prevCapturingTerrain);
+        causeTracker.setProcessingCaptureCause(prevProcessingCaptures);
         causeTracker.getCapturedPopulators().clear();
 
         BlockFalling.fallInstantly = false;
     }
 
+    private Cause getPopulateCause(IChunkProvider chunkProvider) {
+        if (this.populateCause == null || this.populateCauseProvider != chunkProvider) {
+            this.populateCause = Cause.of(NamedCause.source(this), NamedCause.of("ChunkProvider", chunkProvider));
+            this.populateCauseProvider = chunkProvider;
+        }
+        return this.populateCause;
+    }
+
+    /**
+     * Gets the provider populators followed by the populators of the given
+     * biome. The merged list is rebuilt whenever either source list no longer
+     * holds the same populators in the same order.
+     */
+    private List<Populator> getMergedPopulators(BiomeType biome) {
+        final List<Populator> biomePopulators = this.biomeSettings.get(biome).getPopulators();
+        ImmutableList<Populator> merged = this.mergedPopulators.get(biome);
+        if (merged == null || !isMergeOf(merged, this.pop, biomePopulators)) {
+            merged = ImmutableList.<Populator>builder().addAll(this.pop).addAll(biomePopulators).build();
+            this.mergedPopulators.put(biome, merged);
+        }
+        return merged;
+    }
+
+    private static boolean isMergeOf(List<Populator> merged, List<Populator> first, List<Populator> second) {
+        final int firstSize = first.size();
+        if (merged.size() != firstSize + second.size()) {
+            return false;
+        }
+        for (int i = 0; i < firstSize; i++) {
+            if (merged.get(i) != first.get(i)) {
+                return false;
+            }
+        }
+        for (int i = 0; i < second.size(); i++) {
+            if (merged.get(firstSize + i) != second.get(i)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     private boolean checkForgeEvent(Populator populator, IChunkProvider chunkProvider, int chunkX, int chunkZ, List<String> flags, Chunk chunk) {
-        boolean village_flag = flags.contains(WorldGenConstants.VILLAGE_FLAG);
-        if (populator instanceof Ore && populator instanceof WorldGenerator) {
-            BlockType type = ((Ore) populator).getOreBlock().getType();
-            GenerateMinable.EventType otype = null;
-            if (type.equals(BlockTypes.DIRT)) {
-                otype = GenerateMinable.EventType.DIRT;
-            } else if (type.equals(BlockTypes.GRAVEL)) {
-                otype = GenerateMinable.EventType.DIRT;
-            } else if (type.equals(BlockTypes.STONE)) {
-                BlockState state = ((Ore) populator).getOreBlock();
-                Optional<StoneType> stype;
-                if ((stype = state.get(Keys.STONE_TYPE)).isPresent()) {
-                    StoneType stoneType = stype.get();
-                    if (stoneType.equals(StoneTypes.DIORITE)) {
-                        otype = GenerateMinable.EventType.DIORITE;
-                    } else if (stoneType.equals(StoneTypes.ANDESITE)) {
-                        otype = GenerateMinable.EventType.ANDESITE;
-                    } else if (stoneType.equals(StoneTypes.GRANITE)) {
-                        otype = GenerateMinable.EventType.GRANITE;
-                    } else {
-                        return true;
-                    }
-                }
-            } else if (type.equals(BlockTypes.COAL_ORE)) {
-                otype = GenerateMinable.EventType.COAL;
-            } else if (type.equals(BlockTypes.IRON_ORE)) {
-                otype = GenerateMinable.EventType.IRON;
-            } else if (type.equals(BlockTypes.GOLD_ORE)) {
-                otype = GenerateMinable.EventType.GOLD;
-            } else if (type.equals(BlockTypes.REDSTONE_ORE)) {
-                otype = GenerateMinable.EventType.REDSTONE;
-            } else if (type.equals(BlockTypes.DIAMOND_ORE)) {
-                otype = GenerateMinable.EventType.DIAMOND;
-            } else if (type.equals(BlockTypes.LAPIS_ORE)) {
-                otype = GenerateMinable.EventType.LAPIS;
-            } else if (type.equals(BlockTypes.QUARTZ_ORE)) {
-                otype = GenerateMinable.EventType.QUARTZ;
+        ForgePopulatorEvent forgeEvent = this.forgePopulatorEvents.get(populator);
+        if (forgeEvent == null || !forgeEvent.isCurrent(populator)) {
+            forgeEvent = getForgeEventForPopulator(populator, chunk);
+            this.forgePopulatorEvents.put(populator, forgeEvent);
+        }
+        if (forgeEvent.oreType != null) {
+            if (!hasForgeListeners(MinecraftForge.ORE_GEN_BUS, GenerateMinable.class)) {
+                return true;
+            }
+            return TerrainGen.generateOre((net.minecraft.world.World) chunk.getWorld(), this.rand, (WorldGenerator) populator,
+                    VecHelper.toBlockPos(chunk.getBlockMin()), forgeEvent.oreType);
+        }
+        if (forgeEvent.populateType != null) {
+            if (!hasForgeListeners(MinecraftForge.TERRAIN_GEN_BUS, Populate.class)) {
+                return true;
             }
-            // TODO once we update forge we need to add silverfish and emeralds
-            // here
-            if (otype != null) {
-                return TerrainGen.generateOre((net.minecraft.world.World) chunk.getWorld(), this.rand, (WorldGenerator) populator,
-                        VecHelper.toBlockPos(chunk.getBlockMin()), otype);
+            boolean village_flag = flags.contains(WorldGenConstants.VILLAGE_FLAG);
+            return TerrainGen.populate(chunkProvider, (net.minecraft.world.World) chunk.getWorld(), this.rand, chunkX, chunkZ, village_flag,
+                    forgeEvent.populateType);
+        }
+        if (forgeEvent.decorateType != null) {
+            if (!hasForgeListeners(MinecraftForge.TERRAIN_GEN_BUS, Decorate.class)) {
+                return true;
             }
-            return true;
+            return TerrainGen.decorate((net.minecraft.world.World) chunk.getWorld(), this.rand, VecHelper.toBlockPos(chunk.getBlockMin()),
+                    forgeEvent.decorateType);
+        }
+        return true;
+    }
+
+    private ForgePopulatorEvent getForgeEventForPopulator(Populator populator, Chunk chunk) {
+        if (populator instanceof Ore && populator instanceof WorldGenerator) {
+            GenerateMinable.EventType otype = getForgeOreEventTypeForPopulator((Ore) populator);
+            return new ForgePopulatorEvent(populator, otype, null, null);
         }
         Populate.EventType etype = getForgeEventTypeForPopulator(populator, chunk);
         if (etype != null) {
-            return TerrainGen.populate(chunkProvider, (net.minecraft.world.World) chunk.getWorld(), this.rand, chunkX, chunkZ, village_flag, etype);
+            return new ForgePopulatorEvent(populator, null, etype, null);
         }
         Decorate.EventType detype = getForgeDecorateEventTypeForPopulator(populator, chunk);
         if (detype != null) {
-            return TerrainGen.decorate((net.minecraft.world.World) chunk.getWorld(), this.rand, VecHelper.toBlockPos(chunk.getBlockMin()), detype);
+            return new ForgePopulatorEvent(populator, null, null, detype);
         }
-        return true;
+        return new ForgePopulatorEvent(populator, null, null, null);
+    }
+
+    private GenerateMinable.EventType getForgeOreEventTypeForPopulator(Ore populator) {
+        BlockType type = populator.getOreBlock().getType();
+        if (type.equals(BlockTypes.DIRT)) {
+            return GenerateMinable.EventType.DIRT;
+        } else if (type.equals(BlockTypes.GRAVEL)) {
+            return GenerateMinable.EventType.DIRT;
+        } else if (type.equals(BlockTypes.STONE)) {
+            BlockState state = populator.getOreBlock();
+            Optional<StoneType> stype;
+            if ((stype = state.get(Keys.STONE_TYPE)).isPresent()) {
+                StoneType stoneType = stype.get();
+                if (stoneType.equals(StoneTypes.DIORITE)) {
+                    return GenerateMinable.EventType.DIORITE;
+                } else if (stoneType.equals(StoneTypes.ANDESITE)) {
+                    return GenerateMinable.EventType.ANDESITE;
+                } else if (stoneType.equals(StoneTypes.GRANITE)) {
+                    return GenerateMinable.EventType.GRANITE;
+                }
+            }
+        } else if (type.equals(BlockTypes.COAL_ORE)) {
+            return GenerateMinable.EventType.COAL;
+        } else if (type.equals(BlockTypes.IRON_ORE)) {
+            return GenerateMinable.EventType.IRON;
+        } else if (type.equals(BlockTypes.GOLD_ORE)) {
+            return GenerateMinable.EventType.GOLD;
+        } else if (type.equals(BlockTypes.REDSTONE_ORE)) {
+            return GenerateMinable.EventType.REDSTONE;
+        } else if (type.equals(BlockTypes.DIAMOND_ORE)) {
+            return GenerateMinable.EventType.DIAMOND;
+        } else if (type.equals(BlockTypes.LAPIS_ORE)) {
+            return GenerateMinable.EventType.LAPIS;
+        } else if (type.equals(BlockTypes.QUARTZ_ORE)) {
+            return GenerateMinable.EventType.QUARTZ;
+        }
+        // TODO once we update forge we need to add silverfish and emeralds
+        // here
+        return null;
     }
 
     private Populate.EventType getForgeEventTypeForPopulator(Populator populator, Chunk chunk) {
@@ -361,4 +620,103 @@ private Decorate.EventType getForgeDecorateEventTypeForPopulator(Populator popul
         return null;
     }
 
+    /**
+     * A list that reads through to an immutable list until it is first
+     * modified, so listeners can still change the pending populators of a
+     * {@link org.spongepowered.api.event.world.chunk.PopulateChunkEvent.Pre}.
+     */
+    private static final class CopyOnWriteList<E> extends AbstractList<E> implements RandomAccess {
+
+        private List<E> delegate;
+        private boolean copied;
+
+        CopyOnWriteList(List<E> delegate) {
+            this.delegate = delegate;
+        }
+
+        private List<E> mutable() {
+            if (!this.copied) {
+                this.delegate = Lists.newArrayList(this.delegate);
+                this.copied = true;
+            }
+            this.modCount++;
+            return this.delegate;
+        }
+
+        @Override
+        public E get(int index) {
+            return this.delegate.get(index);
+        }
+
+        @Override
+        public int size() {
+            return this.delegate.size();
+        }
+
+        @Override
+        public E set(int index, E element) {
+            return mutable().set(index, element);
+        }
+
+        @Override
+        public void add(int index, E element) {
+            mutable().add(index, element);
+        }
+
+        @Override
+        public E remove(int index) {
+            return mutable().remove(index);
+        }
+
+        @Override
+        public void clear() {
+            mutable().clear();
+        }
+    }
+
+    /**
+     * The Forge terrain event fired before a populator runs, at most one of
+     * the types is set.
+     *
+     * <p>Some types depend on blocks a plugin can change on the populator
+     * after it was classified, these are kept to tell when the populator has
+     * to be classified again.</p>
+     */
+    private static final class ForgePopulatorEvent {
+
+        @Nullable final GenerateMinable.EventType oreType;
+        @Nullable final Populate.EventType populateType;
+        @Nullable final Decorate.EventType decorateType;
+        @Nullable private final BlockState block;
+        @Nullable private final Object placementTarget;
+
+        ForgePopulatorEvent(Populator populator, @Nullable GenerateMinable.EventType oreType, @Nullable Populate.EventType populateType,
+                @Nullable Decorate.EventType decorateType) {
+            this.oreType = oreType;
+            this.populateType = populateType;
+            this.decorateType = decorateType;
+            this.block = getClassifiedBlock(populator);
+            this.placementTarget = populator instanceof RandomBlock ? ((RandomBlock) populator).getPlacementTarget() : null;
+        }
+
+        boolean isCurrent(Populator populator) {
+            return getClassifiedBlock(populator) == this.block
+                    && (!(populator instanceof RandomBlock) || ((RandomBlock) populator).getPlacementTarget() == this.placementTarget);
+        }
+
+        @Nullable
+        private static BlockState getClassifiedBlock(Populator populator) {
+            if (populator instanceof Ore) {
+                return ((Ore) populator).getOreBlock();
+            } else if (populator instanceof Lake) {
+                return ((Lake) populator).getLiquidType();
+            } else if (populator instanceof RandomBlock) {
+                return ((RandomBlock) populator).getBlock();
+            } else if (populator instanceof SeaFloor) {
+                return ((SeaFloor) populator).getBlock();
+            }
+            return null;
+        }
+    }
+
 }
@@ -0,0 +1,93 @@
+/*
+ * This file is part of Sponge, licensed under the MIT License (MIT).
+ *
+ * Copyright (c) SpongePowered <https://www.spongepowered.org>
+ * Copyright (c) contributors
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.spongepowered.mod.world.gen;
+
+import com.google.common.collect.Lists;
+
+import java.util.List;
+
+/**
+ * A per-thread replacement for the global {@code IntCache} used by the biome
+ * gen layers. The vanilla cache hands out arrays that stay in use until the
+ * next reset, so a reset on one thread would recycle arrays still being
+ * filled on another once chunks are generated off the main thread.
+ */
+public final class ThreadLocalIntCache {
+
+    private static final ThreadLocal<ThreadLocalIntCache> caches = ThreadLocal.withInitial(ThreadLocalIntCache::new);
+
+    private int intCacheSize = 256;
+    private final List<int[]> freeSmallArrays = Lists.newArrayList();
+    private final List<int[]> inUseSmallArrays = Lists.newArrayList();
+    private final List<int[]> freeLargeArrays = Lists.newArrayList();
+    private final List<int[]> inUseLargeArrays = Lists.newArrayList();
+
+    private ThreadLocalIntCache() {
+    }
+
+    public static int[] getIntCache(int size) {
+        return caches.get().get(size);
+    }
+
+    public static void resetIntCache() {
+        caches.get().reset();
+    }
+
+    public static String getCacheSizes() {
+        ThreadLocalIntCache cache = caches.get();
+        return "cache: " + cache.freeLargeArrays.size() + ", tcache: " + cache.freeSmallArrays.size() + ", allocated: "
+                + cache.inUseLargeArrays.size() + ", tallocated: " + cache.inUseSmallArrays.size();
+    }
+
+    private int[] get(int size) {
+        int[] array;
+        if (size <= 256) {
+            array = this.freeSmallArrays.isEmpty() ? new int[256] : this.freeSmallArrays.remove(this.freeSmallArrays.size() - 1);
+            this.inUseSmallArrays.add(array);
+        } else {
+            if (size > this.intCacheSize) {
+                this.intCacheSize = size;
+                this.freeLargeArrays.clear();
+                this.inUseLargeArrays.clear();
+            }
+            array = this.freeLargeArrays.isEmpty() ? new int[this.intCacheSize] : this.freeLargeArrays.remove(this.freeLargeArrays.size() - 1);
+            this.inUseLargeArrays.add(array);
+        }
+        return array;
+    }
+
+    private void reset() {
+        if (!this.freeLargeArrays.isEmpty()) {
+            this.freeLargeArrays.remove(this.freeLargeArrays.size() - 1);
+        }
+        if (!this.freeSmallArrays.isEmpty()) {
+            this.freeSmallArrays.remove(this.freeSmallArrays.size() - 1);
+        }
+        this.freeLargeArrays.addAll(this.inUseLargeArrays);
+        this.freeSmallArrays.addAll(this.inUseSmallArrays);
+        this.inUseLargeArrays.clear();
+        this.inUseSmallArrays.clear();
+    }
+}